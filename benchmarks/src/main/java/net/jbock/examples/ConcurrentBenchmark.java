@@ -0,0 +1,60 @@
+package net.jbock.examples;
+
+import net.jbock.either.Either;
+import net.jbock.util.NotSuccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares a fresh parser state per call ({@code parse}), a parse function
+ * that reuses its state ({@code reusable()}), and a parse function that is
+ * shared between threads ({@code concurrent()}).
+ * Run with different thread counts to see the scaling,
+ * for example {@code -t 1}, {@code -t 4} and {@code -t 8},
+ * and with {@code -prof gc} to see the allocation per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentBenchmark {
+
+  private static final String[] ARGS = {"-vH1", "-H", "Accept: */*", "-XPOST", "http://localhost"};
+
+  private final CurlArgumentsParser parser = new CurlArgumentsParser();
+
+  private final Function<String[], Either<NotSuccess, CurlArguments>> concurrent = parser.concurrent();
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+
+    final Function<String[], Either<NotSuccess, CurlArguments>> reusable = new CurlArgumentsParser().reusable();
+  }
+
+  @Benchmark
+  public Object parse() {
+    return parser.parse(ARGS);
+  }
+
+  @Benchmark
+  public Object reusable(ThreadState state) {
+    return state.reusable.apply(ARGS);
+  }
+
+  @Benchmark
+  public Object concurrent() {
+    return concurrent.apply(ARGS);
+  }
+}
@@ -0,0 +1,176 @@
+package net.jbock.examples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated parsers of some example commands,
+ * for short, long, clustered, {@code @file} and invalid input.
+ * Run with {@code -prof gc} to see {@code gc.alloc.rate.norm},
+ * the number of bytes that are allocated per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+  private static final String[] CURL_SHORT = {"-v", "-XPOST", "http://localhost"};
+
+  private static final String[] CURL_LONG = {
+      "--verbose", "--request", "POST",
+      "--header", "Content-Type: application/json",
+      "--header", "Accept: */*",
+      "--include", "http://localhost:8080/api/v1/items"};
+
+  private static final String[] CURL_ATTACHED = {
+      "--verbose", "--request=POST",
+      "--header=Content-Type: application/json",
+      "--header=Accept: */*",
+      "--include", "http://localhost:8080/api/v1/items"};
+
+  private static final String[] GRADLE_ATTACHED = {
+      "--message=hello", "--file=a.txt", "--file=b.txt", "--dir=src", "--verbose", "main", "other"};
+
+  private static final String[] CURL_CLUSTERED = {"-viXPOST", "-HAccept: */*", "http://localhost"};
+
+  private static final String[] CURL_INVALID_OPTION = {"-v", "--verbos", "http://localhost"};
+
+  private static final String[] CURL_REPETITION = {"-XGET", "-XPOST", "http://localhost"};
+
+  private static final String[] TAR_CLUSTERED = {"-xvzf", "archive.tar.gz"};
+
+  private static final String[] TAR_LONG = {"--x", "--v", "--z", "--file", "archive.tar.gz"};
+
+  private static final String[] CLUSTERED_SHORT_OPTIONS = {"-abcfInputFile.txt"};
+
+  private static final String[] REST = {"--file", "a.txt", "--file", "b.txt", "x", "y", "z"};
+
+  private static final String[] LIST_INTEGER = {"-a", "12345"};
+
+  private static final String[] LIST_INTEGER_INVALID = {"-a", "x"};
+
+  private final CurlArgumentsParser curl = new CurlArgumentsParser();
+  private final GradleArgumentsParser gradle = new GradleArgumentsParser();
+  private final GitArgumentsParser git = new GitArgumentsParser();
+  private final TarArgumentsParser tar = new TarArgumentsParser();
+  private final ClusteredShortOptionsParser clusteredShortOptions = new ClusteredShortOptionsParser();
+  private final RestArgumentsParser rest = new RestArgumentsParser();
+  private final ListIntegerArgumentsParser listInteger = new ListIntegerArgumentsParser();
+
+  private String[] gitLong;
+  private String[] curlAtFile;
+  private Path atFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    List<String> args = new ArrayList<>(List.of("--bare", "add"));
+    for (int i = 0; i < 100; i++) {
+      args.add("src/main/java/net/jbock/examples/File" + i + ".java");
+    }
+    gitLong = args.toArray(new String[0]);
+    atFile = Files.createTempFile("curl", ".args");
+    Files.write(atFile, Arrays.asList(CURL_LONG));
+    curlAtFile = new String[]{"@" + atFile};
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.delete(atFile);
+  }
+
+  @Benchmark
+  public Object curlShort() {
+    return curl.parse(CURL_SHORT);
+  }
+
+  @Benchmark
+  public Object curlLong() {
+    return curl.parse(CURL_LONG);
+  }
+
+  @Benchmark
+  public Object curlAttached() {
+    return curl.parse(CURL_ATTACHED);
+  }
+
+  @Benchmark
+  public Object gradleAttached() {
+    return gradle.parse(GRADLE_ATTACHED);
+  }
+
+  @Benchmark
+  public Object curlClustered() {
+    return curl.parse(CURL_CLUSTERED);
+  }
+
+  @Benchmark
+  public Object curlAtFile() {
+    return curl.parse(curlAtFile);
+  }
+
+  @Benchmark
+  public Object curlInvalidOption() {
+    return curl.parse(CURL_INVALID_OPTION);
+  }
+
+  @Benchmark
+  public Object curlRepetition() {
+    return curl.parse(CURL_REPETITION);
+  }
+
+  @Benchmark
+  public Object gitLong() {
+    return git.parse(gitLong);
+  }
+
+  @Benchmark
+  public Object tarClustered() {
+    return tar.parse(TAR_CLUSTERED);
+  }
+
+  @Benchmark
+  public Object tarLong() {
+    return tar.parse(TAR_LONG);
+  }
+
+  @Benchmark
+  public Object clusteredShortOptions() {
+    return clusteredShortOptions.parse(CLUSTERED_SHORT_OPTIONS);
+  }
+
+  @Benchmark
+  public Object rest() {
+    return rest.parse(REST);
+  }
+
+  @Benchmark
+  public Object listInteger() {
+    return listInteger.parse(LIST_INTEGER);
+  }
+
+  @Benchmark
+  public Object listIntegerInvalid() {
+    return listInteger.parse(LIST_INTEGER_INVALID);
+  }
+}
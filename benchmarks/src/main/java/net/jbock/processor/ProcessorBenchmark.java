@@ -0,0 +1,151 @@
+package net.jbock.processor;
+
+import net.jbock.common.ProcessingStatistics;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the {@link JbockProcessor} over synthetic sources,
+ * and prints the wall time and peak heap of each compilation,
+ * as well as the time per processor phase.
+ *
+ * <p>Usage: {@code ProcessorBenchmark [commands [options]]},
+ * where both arguments are comma-separated lists of numbers.
+ * The default is {@code 1,100,1000 10,100,500}.
+ * Each combination of a number of {@code @Command} classes
+ * and a number of {@code @Option}s per class is compiled once,
+ * after a warmup compilation.
+ */
+public final class ProcessorBenchmark {
+
+  private static final String PACKAGE = "bench";
+
+  private static final String[] OPTION_TYPES = {
+      "Optional<String>",
+      "List<String>",
+      "boolean",
+      "Optional<Integer>",
+      "String",
+      "int",
+  };
+
+  public static void main(String[] args) throws IOException {
+    int[] commands = args.length >= 1 ? numbers(args[0]) : new int[]{1, 100, 1000};
+    int[] options = args.length >= 2 ? numbers(args[1]) : new int[]{10, 100, 500};
+    run(10, 10); // warmup
+    for (int numCommands : commands) {
+      for (int numOptions : options) {
+        run(numCommands, numOptions);
+      }
+    }
+  }
+
+  private static void run(int numCommands, int numOptions) throws IOException {
+    List<JavaFileObject> sources = new ArrayList<>(numCommands);
+    for (int i = 0; i < numCommands; i++) {
+      sources.add(commandSource("Command" + i, numOptions));
+    }
+    Path outputDir = Files.createTempDirectory("jbock-bench");
+    try {
+      JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      List<String> compilerOptions = List.of(
+          "-proc:only",
+          "-A" + ProcessingStatistics.OPTION,
+          "-s", outputDir.toString(),
+          "-classpath", System.getProperty("java.class.path"));
+      JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, compilerOptions, null, sources);
+      task.setProcessors(List.of(new JbockProcessor()));
+      System.gc();
+      resetPeakHeap();
+      long start = System.nanoTime();
+      boolean success = task.call();
+      long nanos = System.nanoTime() - start;
+      long peakHeap = peakHeap();
+      System.out.printf("commands=%d options=%d success=%b millis=%.1f peakHeapMb=%.1f%n",
+          numCommands, numOptions, success, nanos / 1e6, peakHeap / (1024.0 * 1024.0));
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        String message = diagnostic.getMessage(null);
+        if (!success || message.startsWith(ProcessingStatistics.OPTION)) {
+          System.out.println("  " + message);
+        }
+      }
+    } finally {
+      try (Stream<Path> files = Files.walk(outputDir)) {
+        for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  private static JavaFileObject commandSource(String className, int numOptions) {
+    StringBuilder sb = new StringBuilder()
+        .append("package ").append(PACKAGE).append(";\n")
+        .append("import java.util.List;\n")
+        .append("import java.util.Optional;\n")
+        .append("import net.jbock.Command;\n")
+        .append("import net.jbock.Option;\n")
+        .append("import net.jbock.Parameters;\n")
+        .append("@Command\n")
+        .append("abstract class ").append(className).append(" {\n");
+    for (int i = 0; i < numOptions; i++) {
+      sb.append("  /** Option number ").append(i).append(". */\n")
+          .append("  @Option(names = \"--option").append(i).append("\")\n")
+          .append("  abstract ").append(OPTION_TYPES[i % OPTION_TYPES.length])
+          .append(" option").append(i).append("();\n");
+    }
+    sb.append("  @Parameters\n")
+        .append("  abstract List<String> rest();\n")
+        .append("}\n");
+    String content = sb.toString();
+    URI uri = URI.create("string:///" + PACKAGE + "/" + className + ".java");
+    return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return content;
+      }
+    };
+  }
+
+  private static void resetPeakHeap() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  private static long peakHeap() {
+    long result = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        result += pool.getPeakUsage().getUsed();
+      }
+    }
+    return result;
+  }
+
+  private static int[] numbers(String commaSeparated) {
+    return Arrays.stream(commaSeparated.split(","))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+  }
+}
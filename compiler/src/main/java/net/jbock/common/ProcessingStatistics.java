@@ -0,0 +1,100 @@
+package net.jbock.common;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the time spent in the phases of the annotation processor.
+ * Enabled by the processor option {@code -Ajbock.statistics},
+ * otherwise all methods are no-ops.
+ */
+public class ProcessingStatistics {
+
+  public static final String OPTION = "jbock.statistics";
+
+  public enum Phase {
+
+    /** Type checks of the command class, and finding its abstract methods. */
+    VALIDATE("validate"),
+
+    /** Finding the converter of a single parameter. */
+    CONVERT("convert"),
+
+    /** Generating the parser class, see {@code GeneratedClass#define}. */
+    DEFINE("define"),
+
+    /** Writing the generated source file. */
+    WRITE("write");
+
+    private final String phaseName;
+
+    Phase(String phaseName) {
+      this.phaseName = phaseName;
+    }
+  }
+
+  private static final class Counter {
+
+    long calls;
+    long nanos;
+    long maxUsedHeap;
+  }
+
+  private final boolean enabled;
+  private final Map<Phase, Counter> counters = new EnumMap<>(Phase.class);
+
+  public ProcessingStatistics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Start timing a phase.
+   *
+   * @return the value that must be passed to {@link #stop(Phase, long)}
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Stop timing a phase, and record the heap that is in use at the end of it.
+   *
+   * @param phase the phase
+   * @param start the value that {@link #start()} returned
+   */
+  public void stop(Phase phase, long start) {
+    if (!enabled) {
+      return;
+    }
+    long nanos = System.nanoTime() - start;
+    Runtime runtime = Runtime.getRuntime();
+    long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+    Counter counter = counters.computeIfAbsent(phase, p -> new Counter());
+    counter.calls++;
+    counter.nanos += nanos;
+    counter.maxUsedHeap = Math.max(counter.maxUsedHeap, usedHeap);
+  }
+
+  /**
+   * Returns one line per phase that was timed, in the format
+   * {@code jbock.statistics <phase> calls=<n> millis=<t> maxUsedHeapMb=<h>}.
+   *
+   * @return report lines
+   */
+  public List<String> report() {
+    List<String> result = new ArrayList<>(counters.size());
+    counters.forEach((phase, counter) -> result.add(String.format("%s %s calls=%d millis=%.3f maxUsedHeapMb=%.1f",
+        OPTION,
+        phase.phaseName,
+        counter.calls,
+        counter.nanos / 1e6,
+        counter.maxUsedHeap / (1024.0 * 1024.0))));
+    return result;
+  }
+}
@@ -1,23 +1,28 @@
 package net.jbock.context;
 
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import net.jbock.common.Util;
 import net.jbock.convert.Mapped;
-import net.jbock.either.Either;
 import net.jbock.parameter.NamedOption;
 import net.jbock.parameter.PositionalParameter;
 import net.jbock.processor.SourceElement;
 import net.jbock.util.ExConvert;
 import net.jbock.util.ExMissingItem;
 import net.jbock.util.ItemType;
+import net.jbock.util.StringConverter;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
+import static com.squareup.javapoet.TypeName.INT;
+import static net.jbock.common.Constants.LIST_OF_STRING;
 import static net.jbock.common.Constants.STRING;
 import static net.jbock.common.Constants.STRING_ARRAY;
 
@@ -30,7 +35,9 @@ public class BuildMethod extends Cached<MethodSpec> {
   private final PositionalParameters positionalParameters;
   private final CommonFields commonFields;
   private final Util util;
-  private final ParameterSpec left = ParameterSpec.builder(STRING, "left").build();
+  private final ConvertMethod convertMethod;
+  private final ConverterHolder converterHolder;
+  private final ParameterSpec token = ParameterSpec.builder(STRING, "token").build();
 
   @Inject
   BuildMethod(
@@ -39,144 +46,189 @@ public class BuildMethod extends Cached<MethodSpec> {
       NamedOptions namedOptions,
       PositionalParameters positionalParameters,
       CommonFields commonFields,
-      Util util) {
+      Util util,
+      ConvertMethod convertMethod,
+      ConverterHolder converterHolder) {
     this.generatedTypes = generatedTypes;
     this.sourceElement = sourceElement;
     this.namedOptions = namedOptions;
     this.positionalParameters = positionalParameters;
     this.commonFields = commonFields;
     this.util = util;
+    this.convertMethod = convertMethod;
+    this.converterHolder = converterHolder;
   }
 
   @Override
   MethodSpec define() {
-    CodeBlock constructorArguments = getConstructorArguments();
+    List<Mapped<?>> items = new ArrayList<>();
+    List<CodeBlock> conversions = conversions(items);
     MethodSpec.Builder spec = MethodSpec.methodBuilder("build");
+    if (!Chunks.isChunked(items)) {
+      conversions.forEach(spec::addCode);
+      List<CodeBlock> constructorArguments = new ArrayList<>(items.size());
+      for (Mapped<?> c : items) {
+        constructorArguments.add(CodeBlock.of("$N", c.asParam()));
+      }
+      return returnResult(spec, CodeBlock.of("new $T($L)", generatedTypes.implType(),
+          util.joinByComma(constructorArguments)));
+    }
+    ParameterSpec impl = ParameterSpec.builder(generatedTypes.implType(), "impl").build();
+    spec.addStatement("$T $N = new $T()", impl.type, impl, generatedTypes.implType());
+    for (int i = 0; i < Chunks.partition(items).size(); i++) {
+      spec.addStatement("build$L($N)", i, impl);
+    }
+    return returnResult(spec, CodeBlock.of("$N", impl));
+  }
+
+  /**
+   * Returns the helper methods that the build method delegates to,
+   * if there are too many items for a single method.
+   * Each helper converts some of the items, and stores them in the
+   * fields of the result object.
+   *
+   * @return helper methods, or an empty list
+   */
+  List<MethodSpec> chunkMethods() {
+    List<Mapped<?>> items = new ArrayList<>();
+    List<CodeBlock> conversions = conversions(items);
+    if (!Chunks.isChunked(items)) {
+      return List.of();
+    }
+    ParameterSpec result = ParameterSpec.builder(generatedTypes.implType(), "result").build();
+    List<MethodSpec> methods = new ArrayList<>();
+    List<List<Mapped<?>>> chunks = Chunks.partition(items);
+    int offset = 0;
+    for (int i = 0; i < chunks.size(); i++) {
+      MethodSpec.Builder spec = MethodSpec.methodBuilder("build" + i)
+          .addParameter(result);
+      for (Mapped<?> c : chunks.get(i)) {
+        spec.addCode(conversions.get(offset++));
+        spec.addStatement("$N.$N = $N", result, c.asField(), c.asParam());
+      }
+      methods.add(spec.addException(ExMissingItem.class)
+          .addException(ExConvert.class)
+          .build());
+    }
+    return methods;
+  }
+
+  /* One code block per item, in the order of the constructor arguments.
+   * Each block declares a local variable that holds the converted item.
+   */
+  private List<CodeBlock> conversions(List<Mapped<?>> items) {
+    List<CodeBlock> code = new ArrayList<>();
     List<Mapped<NamedOption>> options = namedOptions.options();
     for (int i = 0; i < options.size(); i++) {
       Mapped<NamedOption> c = options.get(i);
-      ParameterSpec p = c.asParam();
-      spec.addStatement("$T $N = $L", p.type, p, convertExpressionOption(c, i));
+      CodeBlock source = CodeBlock.of("this.$N", commonFields.optionState(c));
+      if (c.isFlag()) {
+        code.add(CodeBlock.builder().addStatement("$T $N = $L", c.asParam().type, c.asParam(), source).build());
+      } else if (c.isRepeatable()) {
+        code.add(convertRepeatable(c, ItemType.OPTION, i, source, true));
+      } else {
+        code.add(convertSingle(c, ItemType.OPTION, i, source));
+      }
+      items.add(c);
     }
     List<Mapped<PositionalParameter>> regular = positionalParameters.regular();
     for (int i = 0, regularSize = regular.size(); i < regularSize; i++) {
       Mapped<PositionalParameter> c = regular.get(i);
-      ParameterSpec p = c.asParam();
-      spec.addStatement("$T $N = $L", p.type, p, convertExpressionRegularParameter(c, i));
+      code.add(convertSingle(c, ItemType.PARAMETER, i,
+          CodeBlock.of("$N[$L]", commonFields.params(), c.item().position())));
+      items.add(c);
     }
     positionalParameters.repeatable().ifPresent(c -> {
-      ParameterSpec p = c.asParam();
-      spec.addStatement("$T $N = $L", p.type, p, convertExpressionRepeatableParameter(c));
+      code.add(convertRepeatable(c, ItemType.PARAMETER, regular.size(),
+          CodeBlock.of("$N", commonFields.rest()), false));
+      items.add(c);
     });
+    return code;
+  }
+
+  private MethodSpec returnResult(MethodSpec.Builder spec, CodeBlock result) {
     generatedTypes.superResultType().ifPresentOrElse(parseResultWithRestType -> {
-          ParameterSpec result = ParameterSpec.builder(sourceElement.typeName(), "result").build();
-          ParameterSpec restArgs = ParameterSpec.builder(sourceElement.typeName(), "restArgs").build();
-          spec.addStatement("$T $N = new $T($L)", result.type, result, generatedTypes.implType(),
-              constructorArguments);
+          ParameterSpec restArgs = ParameterSpec.builder(STRING_ARRAY, "restArgs").build();
+          spec.addStatement("$T $N = $L", sourceElement.typeName(), "result", result);
           spec.addStatement("$T $N = $N.toArray(new $T[0])", STRING_ARRAY, restArgs,
               commonFields.rest(), STRING);
           spec.addStatement("return new $T($N, $N)", parseResultWithRestType,
-              result, restArgs);
+              "result", restArgs);
         },
-        () -> spec.addStatement("return new $T($L)", generatedTypes.implType(), constructorArguments));
+        () -> spec.addStatement("return $L", result));
     return spec.returns(generatedTypes.parseSuccessType())
         .addException(ExMissingItem.class)
         .addException(ExConvert.class)
         .build();
   }
 
-  private CodeBlock getConstructorArguments() {
-    List<CodeBlock> code = new ArrayList<>();
-    for (Mapped<NamedOption> c : namedOptions.options()) {
-      code.add(CodeBlock.of("$N", c.asParam()));
-    }
-    for (Mapped<PositionalParameter> c : positionalParameters.regular()) {
-      code.add(CodeBlock.of("$N", c.asParam()));
-    }
-    positionalParameters.repeatable()
-        .map(c -> CodeBlock.of("$N", c.asParam()))
-        .ifPresent(code::add);
-    return util.joinByComma(code);
-  }
-
-  private CodeBlock convertExpressionOption(Mapped<NamedOption> c, int i) {
-    List<CodeBlock> code = new ArrayList<>();
-    code.add(CodeBlock.of("$N.get($T.$N).stream()", commonFields.optionParsers(),
-        sourceElement.optionEnumType(), c.enumConstant()));
-    if (!c.isFlag()) {
-      code.add(c.mapExpr());
+  /* Required or optional item, a single token which may be null. */
+  private CodeBlock convertSingle(Mapped<?> c, ItemType itemType, int i, CodeBlock source) {
+    ParameterSpec p = c.asParam();
+    CodeBlock convert = CodeBlock.of("$N($L, $N, $T.$L, $L)", convertMethod.get(),
+        converterHolder.converter(c), token, ItemType.class, itemType, i);
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.addStatement("$T $N", p.type, p);
+    code.add("{\n").indent();
+    code.addStatement("$T $N = $L", STRING, token, source);
+    if (c.isRequired()) {
+      code.add("if ($N == null)\n", token).indent()
+          .addStatement("throw new $T($T.$L, $L)", ExMissingItem.class, ItemType.class, itemType, i)
+          .unindent();
+      code.addStatement("$N = $L", p, convert);
+    } else {
+      TypeName wrapper = p.type instanceof ParameterizedTypeName
+          ? ((ParameterizedTypeName) p.type).rawType
+          : p.type;
+      code.addStatement("$N = $N == null ? $T.empty() : $T.of($L)", p, token, wrapper, wrapper, convert);
     }
-    code.addAll(tailExpressionOption(c, i));
-    c.extractExpr().ifPresent(code::add);
-    return util.joinByNewline(code);
-  }
-
-  private CodeBlock convertExpressionRegularParameter(Mapped<PositionalParameter> c, int i) {
-    List<CodeBlock> code = new ArrayList<>();
-    code.add(CodeBlock.of("$T.ofNullable($N[$L])", Optional.class, commonFields.params(),
-        c.item().position()));
-    code.add(c.mapExpr());
-    code.addAll(tailExpressionParameter(c, i));
-    c.extractExpr().ifPresent(code::add);
-    return util.joinByNewline(code);
-  }
-
-  private CodeBlock convertExpressionRepeatableParameter(Mapped<PositionalParameter> c) {
-    List<CodeBlock> code = new ArrayList<>();
-    code.add(CodeBlock.of("$N.stream()", commonFields.rest()));
-    code.add(c.mapExpr());
-    code.add(CodeBlock.of(".collect($T.toValidList())", Either.class));
-    code.add(orElseThrowConverterError(ItemType.PARAMETER, positionalParameters.regular().size()));
-    return util.joinByNewline(code);
+    return code.unindent().add("}\n").build();
   }
 
-  private List<CodeBlock> tailExpressionOption(Mapped<NamedOption> c, int i) {
-    if (c.isFlag()) {
-      return List.of(CodeBlock.of(".findAny().isPresent()"));
+  /* Repeatable item, converted into a list or primitive array.
+   * A primitive array without a converter is parsed without boxing.
+   */
+  private CodeBlock convertRepeatable(Mapped<?> c, ItemType itemType, int i, CodeBlock source,
+                                      boolean nullable) {
+    ParameterSpec p = c.asParam();
+    ParameterSpec converter = ParameterSpec.builder(ParameterizedTypeName.get(
+        ClassName.get(StringConverter.class), c.baseType()), "converter").build();
+    ParameterSpec tokens = ParameterSpec.builder(LIST_OF_STRING, "tokens").build();
+    ParameterSpec k = ParameterSpec.builder(INT, "k").build();
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.addStatement("$T $N", p.type, p);
+    code.add("{\n").indent();
+    if (!c.isPrimitiveArrayParsed()) {
+      code.addStatement("$T $N = $L", converter.type, converter, converterHolder.converter(c));
     }
-    switch (c.multiplicity()) {
-      case REQUIRED:
-        return List.of(
-            CodeBlock.of(".findAny()"),
-            CodeBlock.of(".orElseThrow(() -> new $T($T.$L, $L))",
-                ExMissingItem.class, ItemType.class, ItemType.OPTION, i),
-            orElseThrowConverterError(ItemType.OPTION, i));
-      case OPTIONAL:
-        return List.of(
-            CodeBlock.of(".collect($T.toValidList())", Either.class),
-            orElseThrowConverterError(ItemType.OPTION, i),
-            CodeBlock.of(".stream().findAny()"));
-      case REPEATABLE:
-        return List.of(
-            CodeBlock.of(".collect($T.toValidList())", Either.class),
-            orElseThrowConverterError(ItemType.OPTION, i));
-      default:
-        throw new IllegalArgumentException("unexpected skew: " + c.multiplicity());
+    code.addStatement("$T $N = $L", tokens.type, tokens, source);
+    if (p.type instanceof ArrayTypeName) {
+      TypeName componentType = ((ArrayTypeName) p.type).componentType;
+      CodeBlock size = nullable
+          ? CodeBlock.of("$N == null ? 0 : $N.size()", tokens, tokens)
+          : CodeBlock.of("$N.size()", tokens);
+      CodeBlock convert = c.isPrimitiveArrayParsed()
+          ? CodeBlock.of("$L($N.get($N), $T.$L, $L)", ConvertMethod.primitiveMethodName(componentType),
+              tokens, k, ItemType.class, itemType, i)
+          : CodeBlock.of("$N($N, $N.get($N), $T.$L, $L)", convertMethod.get(),
+              converter, tokens, k, ItemType.class, itemType, i);
+      code.addStatement("$N = new $T[$L]", p, componentType, size);
+      code.add("for ($T $N = 0; $N < $N.length; $N++)\n", INT, k, k, p, k).indent()
+          .addStatement("$N[$N] = $L", p, k, convert)
+          .unindent();
+    } else {
+      code.addStatement("$N = new $T<>()", p, ArrayList.class);
+      if (nullable) {
+        code.add("if ($N != null)\n", tokens).indent();
+      }
+      code.add("for ($T $N : $N)\n", STRING, token, tokens).indent()
+          .addStatement("$N.add($N($N, $N, $T.$L, $L))", p, convertMethod.get(),
+              converter, token, ItemType.class, itemType, i)
+          .unindent();
+      if (nullable) {
+        code.unindent();
+      }
     }
-  }
-
-  private List<CodeBlock> tailExpressionParameter(Mapped<PositionalParameter> c, int i) {
-    switch (c.multiplicity()) {
-      case REQUIRED:
-        return List.of(CodeBlock.of(".orElseThrow(() -> new $T($T.$L, $L))",
-            ExMissingItem.class, ItemType.class, ItemType.PARAMETER, i),
-            orElseThrowConverterError(ItemType.PARAMETER, i));
-      case OPTIONAL:
-        return List.of(
-            CodeBlock.of(".stream()"),
-            CodeBlock.of(".collect($T.toValidList())", Either.class),
-            orElseThrowConverterError(ItemType.PARAMETER, i),
-            CodeBlock.of(".stream().findAny()"));
-      default:
-        throw new IllegalArgumentException("unexpected skew: " + c.multiplicity());
-    }
-  }
-
-  private CodeBlock orElseThrowConverterError(ItemType itemType, int i) {
-    return CodeBlock.of(".orElseThrow($1N -> new $2T($1N, $3T.$4L, $5L))",
-        left, ExConvert.class,
-        ItemType.class,
-        itemType,
-        i);
+    return code.unindent().add("}\n").build();
   }
 }
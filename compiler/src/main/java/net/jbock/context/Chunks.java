@@ -0,0 +1,27 @@
+package net.jbock.context;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Splits the code of a generated method into helper methods,
+ * if the size of that code grows with the number of items.
+ * Methods with more than 8000 bytes of bytecode are not compiled by the JIT,
+ * see {@code -XX:HugeMethodLimit}, and no method can be larger than 64KB.
+ */
+final class Chunks {
+
+  static final int CHUNK_SIZE = 64;
+
+  private Chunks() {
+  }
+
+  static boolean isChunked(List<?> list) {
+    return list.size() > CHUNK_SIZE;
+  }
+
+  static <E> List<List<E>> partition(List<E> list) {
+    return Lists.partition(list, CHUNK_SIZE);
+  }
+}
@@ -4,6 +4,7 @@ import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
 import net.jbock.convert.Mapped;
 import net.jbock.parameter.NamedOption;
 import net.jbock.processor.SourceElement;
@@ -11,29 +12,19 @@ import net.jbock.util.ItemType;
 import net.jbock.util.ConverterFailure;
 
 import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.List;
-import java.util.regex.Pattern;
 
+import static com.squareup.javapoet.TypeName.BOOLEAN;
 import static net.jbock.common.Constants.LIST_OF_STRING;
 import static net.jbock.common.Constants.STRING;
-import static net.jbock.common.Constants.mapOf;
 
 public class CommonFields {
 
-  private final FieldSpec optionNames;
   private final FieldSpec params;
-  private final FieldSpec optionParsers;
 
   private final FieldSpec rest = FieldSpec.builder(LIST_OF_STRING, "rest")
       .initializer("new $T<>()", ArrayList.class)
       .build();
 
-  private final FieldSpec suspiciousPattern = FieldSpec.builder(Pattern.class, "suspicious")
-      .initializer("$T.compile($S)", Pattern.class, "-[a-zA-Z0-9]+|--[a-zA-Z0-9-]+")
-      .build();
-
   private final FieldSpec convExFailure = FieldSpec.builder(ConverterFailure.class, "failure")
       .build();
   private final FieldSpec convExItemType = FieldSpec.builder(ItemType.class, "itemType")
@@ -41,20 +32,14 @@ public class CommonFields {
   private final FieldSpec convExItemName = FieldSpec.builder(STRING, "itemName")
       .build();
 
-  private CommonFields(
-      FieldSpec optionNames,
-      FieldSpec params,
-      FieldSpec optionParsers) {
-    this.optionNames = optionNames;
+  private CommonFields(FieldSpec params) {
     this.params = params;
-    this.optionParsers = optionParsers;
   }
 
   public static CommonFields create(
       GeneratedTypes generatedTypes,
       SourceElement sourceElement,
-      PositionalParameters positionalParameters,
-      NamedOptions namedOptions) {
+      PositionalParameters positionalParameters) {
     ParameterSpec result = ParameterSpec.builder(generatedTypes.parseResultType(), "result").build();
     CodeBlock.Builder code = CodeBlock.builder();
     code.add(generatedTypes.helpRequestedType()
@@ -63,30 +48,10 @@ public class CommonFields {
             .add("$T.exit($N instanceof $T ? 0 : 1)", System.class, result, helpRequestedType)
             .unindent().build())
         .orElseGet(() -> CodeBlock.of("$N -> $T.exit(1)", result, System.class)));
-    long mapSize = namedOptions.stream()
-        .map(Mapped::item)
-        .map(NamedOption::names)
-        .map(List::size)
-        .mapToLong(i -> i)
-        .sum();
-    FieldSpec optionsByName = FieldSpec.builder(mapOf(STRING, sourceElement.optionEnumType()), "optionNames")
-        .initializer("new $T<>($L)", HashMap.class, mapSize)
-        .build();
     FieldSpec paramParsers = FieldSpec.builder(ArrayTypeName.of(STRING), "params")
         .initializer("new $T[$L]", STRING, positionalParameters.regular().size())
         .build();
-    FieldSpec optionParsers = FieldSpec.builder(mapOf(sourceElement.optionEnumType(), generatedTypes.optionParserType()), "optionParsers")
-        .initializer("new $T<>($T.class)", EnumMap.class, sourceElement.optionEnumType())
-        .build();
-    return new CommonFields(optionsByName, paramParsers, optionParsers);
-  }
-
-  public FieldSpec suspiciousPattern() {
-    return suspiciousPattern;
-  }
-
-  public FieldSpec optionNames() {
-    return optionNames;
+    return new CommonFields(paramParsers);
   }
 
   public FieldSpec rest() {
@@ -109,7 +74,12 @@ public class CommonFields {
     return convExItemName;
   }
 
-  public FieldSpec optionParsers() {
-    return optionParsers;
+  /**
+   * Returns the field of the inner class StatefulParser
+   * that holds the state of the given option.
+   */
+  public FieldSpec optionState(Mapped<NamedOption> option) {
+    TypeName type = option.isFlag() ? BOOLEAN : option.isRepeatable() ? LIST_OF_STRING : STRING;
+    return FieldSpec.builder(type, option.asField().name).build();
   }
 }
@@ -0,0 +1,52 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.function.Function;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static net.jbock.common.Constants.STRING_ARRAY;
+
+/**
+ * Generates the method {@code concurrent()}, which returns a thread-safe
+ * parse function that keeps one reusable StatefulParser per thread.
+ */
+@ContextScope
+public class ConcurrentMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final SourceElement sourceElement;
+  private final ParseWithStateMethod parseWithStateMethod;
+
+  @Inject
+  ConcurrentMethod(
+      GeneratedTypes generatedTypes,
+      SourceElement sourceElement,
+      ParseWithStateMethod parseWithStateMethod) {
+    this.generatedTypes = generatedTypes;
+    this.sourceElement = sourceElement;
+    this.parseWithStateMethod = parseWithStateMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+    TypeName stateType = generatedTypes.statefulParserType();
+    ParameterSpec state = builder(ParameterizedTypeName.get(ClassName.get(ThreadLocal.class), stateType),
+        "statefulParser").build();
+    ParameterSpec args = builder(STRING_ARRAY, "args").build();
+    TypeName returnType = ParameterizedTypeName.get(ClassName.get(Function.class),
+        STRING_ARRAY, generatedTypes.parseResultType());
+    return MethodSpec.methodBuilder("concurrent")
+        .addStatement("$T $N = $T.withInitial($T::new)", state.type, state, ThreadLocal.class, stateType)
+        .addStatement("return $N -> $N($N, $N.get().reset())", args, parseWithStateMethod.get(), args, state)
+        .returns(returnType)
+        .addModifiers(sourceElement.accessModifiers())
+        .build();
+  }
+}
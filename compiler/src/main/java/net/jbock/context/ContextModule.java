@@ -76,12 +76,10 @@ public class ContextModule {
   CommonFields commonFields(
       GeneratedTypes generatedTypes,
       SourceElement sourceElement,
-      PositionalParameters positionalParameters,
-      NamedOptions namedOptions) {
+      PositionalParameters positionalParameters) {
     return CommonFields.create(
         generatedTypes,
         sourceElement,
-        positionalParameters,
-        namedOptions);
+        positionalParameters);
   }
 }
@@ -0,0 +1,161 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeVariableName;
+import net.jbock.convert.Mapped;
+import net.jbock.util.ConverterReturnedNull;
+import net.jbock.util.ConverterThrewException;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ItemType;
+import net.jbock.util.ParseListener;
+import net.jbock.util.ParseListeners;
+import net.jbock.util.StringConverter;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static com.squareup.javapoet.TypeName.INT;
+import static com.squareup.javapoet.TypeName.LONG;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.STRING;
+
+/**
+ * Generates the method {@code convert}, which invokes a converter on
+ * a single token. The failure cases are the same as in
+ * {@link StringConverter#apply(String)}, but no {@code Either} is created.
+ * If a {@link ParseListener} is registered, the duration of the conversion
+ * is reported.
+ *
+ * <p>Primitive arrays without a converter use specialized methods instead,
+ *    like {@code convertInt}, which parse the token without boxing.</p>
+ */
+@ContextScope
+public class ConvertMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final ModelHolder modelHolder;
+  private final AllItems allItems;
+
+  @Inject
+  ConvertMethod(
+      GeneratedTypes generatedTypes,
+      ModelHolder modelHolder,
+      AllItems allItems) {
+    this.generatedTypes = generatedTypes;
+    this.modelHolder = modelHolder;
+    this.allItems = allItems;
+  }
+
+  @Override
+  MethodSpec define() {
+    TypeVariableName t = TypeVariableName.get("T");
+    ParameterSpec converter = builder(ParameterizedTypeName.get(ClassName.get(StringConverter.class), t), "converter").build();
+    ParameterSpec token = builder(STRING, "token").build();
+    ParameterSpec itemType = builder(ItemType.class, "itemType").build();
+    ParameterSpec itemIndex = builder(INT, "itemIndex").build();
+    ParameterSpec result = builder(t, "result").build();
+    ParameterSpec listener = builder(ParseListener.class, "listener").build();
+    ParameterSpec start = builder(LONG, "start").build();
+    ParameterSpec e = builder(Exception.class, "e").build();
+    return MethodSpec.methodBuilder("convert")
+        .addTypeVariable(t)
+        .addParameters(List.of(converter, token, itemType, itemIndex))
+        .addStatement("$T $N = $T.current()", listener.type, listener, ParseListeners.class)
+        .addStatement("$T $N = $N != null ? $T.nanoTime() : 0L", start.type, start, listener, System.class)
+        .addStatement("$T $N", result.type, result)
+        .beginControlFlow("try")
+        .addStatement("$N = $N.convert($N)", result, converter, token)
+        .nextControlFlow("catch ($T $N)", e.type, e)
+        .addStatement("throw new $T(new $T($N), $N, $N)", ExConvert.class,
+            ConverterThrewException.class, e, itemType, itemIndex)
+        .nextControlFlow("finally")
+        .beginControlFlow("if ($N != null)", listener)
+        .addStatement("$N.itemConverted($T.$N.getItem($N, $N), $T.nanoTime() - $N)", listener,
+            generatedTypes.modelHolderType(), modelHolder.model(), itemType, itemIndex, System.class, start)
+        .endControlFlow()
+        .endControlFlow()
+        .beginControlFlow("if ($N == null)", result)
+        .addStatement("throw new $T(new $T(), $N, $N)", ExConvert.class,
+            ConverterReturnedNull.class, itemType, itemIndex)
+        .endControlFlow()
+        .addStatement("return $N", result)
+        .returns(t)
+        .addException(ExConvert.class)
+        .addModifiers(PRIVATE, STATIC)
+        .build();
+  }
+
+  /**
+   * Returns the specialized convert methods that are used by
+   * at least one primitive array.
+   *
+   * @return convert methods, or an empty list
+   */
+  List<MethodSpec> primitiveMethods() {
+    Set<TypeName> componentTypes = new LinkedHashSet<>();
+    for (Mapped<?> c : allItems.items()) {
+      if (c.isPrimitiveArrayParsed()) {
+        componentTypes.add(((ArrayTypeName) c.asParam().type).componentType);
+      }
+    }
+    List<MethodSpec> result = new ArrayList<>(componentTypes.size());
+    for (TypeName componentType : componentTypes) {
+      result.add(primitiveMethod(componentType));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the name of the specialized convert method
+   * for the given primitive type.
+   *
+   * @param componentType {@code int}, {@code long} or {@code double}
+   * @return method name
+   */
+  static String primitiveMethodName(TypeName componentType) {
+    return "convert" + capitalize(componentType.toString());
+  }
+
+  private MethodSpec primitiveMethod(TypeName componentType) {
+    ParameterSpec token = builder(STRING, "token").build();
+    ParameterSpec itemType = builder(ItemType.class, "itemType").build();
+    ParameterSpec itemIndex = builder(INT, "itemIndex").build();
+    ParameterSpec listener = builder(ParseListener.class, "listener").build();
+    ParameterSpec start = builder(LONG, "start").build();
+    ParameterSpec e = builder(NumberFormatException.class, "e").build();
+    return MethodSpec.methodBuilder(primitiveMethodName(componentType))
+        .addParameters(List.of(token, itemType, itemIndex))
+        .addStatement("$T $N = $T.current()", listener.type, listener, ParseListeners.class)
+        .addStatement("$T $N = $N != null ? $T.nanoTime() : 0L", start.type, start, listener, System.class)
+        .beginControlFlow("try")
+        .addStatement("return $T.parse$L($N)", componentType.box(),
+            capitalize(componentType.toString()), token)
+        .nextControlFlow("catch ($T $N)", e.type, e)
+        .addStatement("throw new $T(new $T($N), $N, $N)", ExConvert.class,
+            ConverterThrewException.class, e, itemType, itemIndex)
+        .nextControlFlow("finally")
+        .beginControlFlow("if ($N != null)", listener)
+        .addStatement("$N.itemConverted($T.$N.getItem($N, $N), $T.nanoTime() - $N)", listener,
+            generatedTypes.modelHolderType(), modelHolder.model(), itemType, itemIndex, System.class, start)
+        .endControlFlow()
+        .endControlFlow()
+        .returns(componentType)
+        .addException(ExConvert.class)
+        .addModifiers(PRIVATE, STATIC)
+        .build();
+  }
+
+  private static String capitalize(String s) {
+    return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+  }
+}
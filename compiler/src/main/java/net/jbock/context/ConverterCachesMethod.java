@@ -0,0 +1,77 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.WildcardTypeName;
+import net.jbock.convert.Mapped;
+import net.jbock.processor.SourceElement;
+import net.jbock.util.MemoizingConverter;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static net.jbock.common.Constants.STRING;
+
+/**
+ * Generates the method {@code converterCaches()}.
+ * It returns the memoizing converters of the items that set a {@code cacheSize},
+ * keyed by method name.
+ * The caches are shared by all instances of the parser.
+ * Caches which were not used yet are created by this method.
+ */
+@ContextScope
+public class ConverterCachesMethod extends Cached<MethodSpec> {
+
+  private final SourceElement sourceElement;
+  private final NamedOptions namedOptions;
+  private final PositionalParameters positionalParameters;
+  private final ConverterHolder converterHolder;
+
+  @Inject
+  ConverterCachesMethod(
+      SourceElement sourceElement,
+      NamedOptions namedOptions,
+      PositionalParameters positionalParameters,
+      ConverterHolder converterHolder) {
+    this.sourceElement = sourceElement;
+    this.namedOptions = namedOptions;
+    this.positionalParameters = positionalParameters;
+    this.converterHolder = converterHolder;
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterizedTypeName cacheType = ParameterizedTypeName.get(
+        ClassName.get(MemoizingConverter.class), WildcardTypeName.subtypeOf(Object.class));
+    ParameterSpec result = builder(ParameterizedTypeName.get(
+        ClassName.get(Map.class), STRING, cacheType), "result").build();
+    MethodSpec.Builder spec = MethodSpec.methodBuilder("converterCaches")
+        .addStatement("$T $N = new $T<>()", result.type, result, LinkedHashMap.class);
+    for (Mapped<?> c : items()) {
+      converterHolder.cache(c).ifPresent(cache ->
+          spec.addStatement("$N.put($S, $L)", result, c.item().methodName(), cache));
+    }
+    return spec.addStatement("return $N", result)
+        .returns(result.type)
+        .addModifiers(sourceElement.accessModifiers())
+        .build();
+  }
+
+  boolean anyCaches() {
+    return items().stream().map(converterHolder::cache).anyMatch(Optional::isPresent);
+  }
+
+  private List<Mapped<?>> items() {
+    List<Mapped<?>> items = new ArrayList<>(namedOptions.options());
+    items.addAll(positionalParameters.parameters());
+    return items;
+  }
+}
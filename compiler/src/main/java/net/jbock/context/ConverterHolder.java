@@ -0,0 +1,168 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import net.jbock.convert.Mapped;
+import net.jbock.parameter.NamedOption;
+import net.jbock.util.MemoizingConverter;
+import net.jbock.util.StringConverter;
+
+import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.VOLATILE;
+
+/**
+ * Defines the inner class ConverterHolder.
+ * Its fields hold the converters, which are created once,
+ * when they are first needed.
+ * Each field has an accessor method, which creates the converter.
+ * If the converter cannot be created, the exception is thrown
+ * from the accessor, and the next invocation tries again.
+ * Items that use the same converter share a field,
+ * unless they set a {@code cacheSize}.
+ * Such items get their own field, which holds a memoizing converter.
+ * Stateful converters are not held here; they are created
+ * by the build method, each time it runs.
+ * Primitive arrays without a converter don't need a field,
+ * because their tokens are parsed directly.
+ */
+@ContextScope
+public class ConverterHolder extends Cached<Map<String, ConverterHolder.Converter>> {
+
+  private final GeneratedTypes generatedTypes;
+  private final NamedOptions namedOptions;
+  private final PositionalParameters positionalParameters;
+
+  @Inject
+  ConverterHolder(
+      GeneratedTypes generatedTypes,
+      NamedOptions namedOptions,
+      PositionalParameters positionalParameters) {
+    this.generatedTypes = generatedTypes;
+    this.namedOptions = namedOptions;
+    this.positionalParameters = positionalParameters;
+  }
+
+  @Override
+  Map<String, Converter> define() {
+    Map<String, Converter> fields = new LinkedHashMap<>();
+    for (Mapped<NamedOption> c : namedOptions.options()) {
+      if (!c.isFlag()) {
+        addField(fields, c);
+      }
+    }
+    positionalParameters.parameters().forEach(c -> addField(fields, c));
+    return fields;
+  }
+
+  private static void addField(Map<String, Converter> fields, Mapped<?> c) {
+    if (c.isStatefulConverter() || c.isPrimitiveArrayParsed()) {
+      return;
+    }
+    String name = "converter" + fields.size();
+    if (c.item().cacheSize() == 0) {
+      fields.computeIfAbsent(key(c), k -> new Converter(FieldSpec.builder(
+          ParameterizedTypeName.get(ClassName.get(StringConverter.class), c.baseType()),
+          name, PRIVATE, STATIC, VOLATILE).build(), c.converterExpr()));
+      return;
+    }
+    fields.put(key(c), new Converter(FieldSpec.builder(
+        ParameterizedTypeName.get(ClassName.get(MemoizingConverter.class), c.baseType()),
+        name, PRIVATE, STATIC, VOLATILE).build(),
+        CodeBlock.of("new $T<>($L, $L)", MemoizingConverter.class, c.converterExpr(), c.item().cacheSize())));
+  }
+
+  /**
+   * Returns an expression of type {@code StringConverter<B>},
+   * where {@code B} is the base type of the given item.
+   *
+   * @param c an item
+   * @return converter expression
+   */
+  CodeBlock converter(Mapped<?> c) {
+    if (c.isStatefulConverter()) {
+      return c.converterExpr();
+    }
+    FieldSpec field = get().get(key(c)).field;
+    return CodeBlock.of("$T.$N()", generatedTypes.converterHolderType(), field.name);
+  }
+
+  /**
+   * Returns an expression of type {@code MemoizingConverter<B>},
+   * if the given item sets a {@code cacheSize}.
+   *
+   * @param c an item
+   * @return memoizing converter expression, or an empty optional
+   */
+  Optional<CodeBlock> cache(Mapped<?> c) {
+    if (c.isFlag() || c.isStatefulConverter() || c.item().cacheSize() == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(converter(c));
+  }
+
+  boolean isEmpty() {
+    return get().isEmpty();
+  }
+
+  TypeSpec holderType() {
+    TypeSpec.Builder spec = TypeSpec.classBuilder(generatedTypes.converterHolderType());
+    for (Converter converter : get().values()) {
+      spec.addField(converter.field);
+      spec.addMethod(accessor(converter));
+    }
+    return spec.addModifiers(PRIVATE, STATIC, FINAL).build();
+  }
+
+  /* Double-checked locking, so that the converter is created only once.
+   * The field stays null if the converter expression throws.
+   */
+  private MethodSpec accessor(Converter converter) {
+    FieldSpec field = converter.field;
+    ParameterSpec result = ParameterSpec.builder(field.type, "result").build();
+    return MethodSpec.methodBuilder(field.name)
+        .addStatement("$T $N = $N", result.type, result, field)
+        .beginControlFlow("if ($N == null)", result)
+        .beginControlFlow("synchronized ($T.class)", generatedTypes.converterHolderType())
+        .addStatement("$N = $N", result, field)
+        .beginControlFlow("if ($N == null)", result)
+        .addStatement("$N = $L", result, converter.expr)
+        .addStatement("$N = $N", field, result)
+        .endControlFlow()
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return $N", result)
+        .returns(field.type)
+        .addModifiers(STATIC)
+        .build();
+  }
+
+  private static String key(Mapped<?> c) {
+    if (c.item().cacheSize() != 0) {
+      return c.enumConstant();
+    }
+    return c.baseType() + " " + c.converterExpr();
+  }
+
+  static final class Converter {
+
+    private final FieldSpec field;
+    private final CodeBlock expr;
+
+    private Converter(FieldSpec field, CodeBlock expr) {
+      this.field = field;
+      this.expr = expr;
+    }
+  }
+}
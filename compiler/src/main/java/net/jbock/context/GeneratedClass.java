@@ -15,8 +15,13 @@ import static javax.lang.model.element.Modifier.FINAL;
 public final class GeneratedClass {
 
   private final ParseMethod parseMethod;
+  private final ParseWithStateMethod parseWithStateMethod;
+  private final ParseWithListenerMethod parseWithListenerMethod;
+  private final ReusableMethod reusableMethod;
+  private final ConcurrentMethod concurrentMethod;
+  private final ParseAllMethod parseAllMethod;
+  private final ParseAllStreamMethod parseAllStreamMethod;
   private final Impl impl;
-  private final OptionParser optionParser;
   private final OptionEnum optionEnum;
   private final StatefulParser statefulParser;
   private final SourceElement sourceElement;
@@ -24,56 +29,110 @@ public final class GeneratedClass {
   private final ParseOrExitMethod parseOrExitMethod;
   private final ReadOptionArgumentMethod readOptionArgumentMethod;
   private final GeneratedAnnotation generatedAnnotation;
-  private final ReadOptionNameMethod readOptionNameMethod;
+  private final ReadOptionMethod readOptionMethod;
+  private final ReadUnixOptionMethod readUnixOptionMethod;
   private final CreateModelMethod createModelMethod;
+  private final SuspiciousMethod suspiciousMethod;
+  private final ConvertMethod convertMethod;
+  private final ModelHolder modelHolder;
+  private final ConverterHolder converterHolder;
+  private final ConverterCachesMethod converterCachesMethod;
+  private final PositionalParameters positionalParameters;
 
   @Inject
   GeneratedClass(
       ParseMethod parseMethod,
+      ParseWithStateMethod parseWithStateMethod,
+      ParseWithListenerMethod parseWithListenerMethod,
+      ReusableMethod reusableMethod,
+      ConcurrentMethod concurrentMethod,
+      ParseAllMethod parseAllMethod,
+      ParseAllStreamMethod parseAllStreamMethod,
       SourceElement sourceElement,
       Impl impl,
-      OptionParser optionParser,
       OptionEnum optionEnum,
       StatefulParser statefulParser,
       NamedOptions namedOptions,
       ParseOrExitMethod parseOrExitMethod,
       ReadOptionArgumentMethod readOptionArgumentMethod,
       GeneratedAnnotation generatedAnnotation,
-      ReadOptionNameMethod readOptionNameMethod,
-      CreateModelMethod createModelMethod) {
+      ReadOptionMethod readOptionMethod,
+      ReadUnixOptionMethod readUnixOptionMethod,
+      CreateModelMethod createModelMethod,
+      SuspiciousMethod suspiciousMethod,
+      ConvertMethod convertMethod,
+      ModelHolder modelHolder,
+      ConverterHolder converterHolder,
+      ConverterCachesMethod converterCachesMethod,
+      PositionalParameters positionalParameters) {
     this.parseMethod = parseMethod;
+    this.parseWithStateMethod = parseWithStateMethod;
+    this.parseWithListenerMethod = parseWithListenerMethod;
+    this.reusableMethod = reusableMethod;
+    this.concurrentMethod = concurrentMethod;
+    this.parseAllMethod = parseAllMethod;
+    this.parseAllStreamMethod = parseAllStreamMethod;
     this.sourceElement = sourceElement;
     this.impl = impl;
-    this.optionParser = optionParser;
     this.optionEnum = optionEnum;
     this.statefulParser = statefulParser;
     this.namedOptions = namedOptions;
     this.parseOrExitMethod = parseOrExitMethod;
     this.readOptionArgumentMethod = readOptionArgumentMethod;
     this.generatedAnnotation = generatedAnnotation;
-    this.readOptionNameMethod = readOptionNameMethod;
+    this.readOptionMethod = readOptionMethod;
+    this.readUnixOptionMethod = readUnixOptionMethod;
     this.createModelMethod = createModelMethod;
+    this.suspiciousMethod = suspiciousMethod;
+    this.convertMethod = convertMethod;
+    this.modelHolder = modelHolder;
+    this.converterHolder = converterHolder;
+    this.converterCachesMethod = converterCachesMethod;
+    this.positionalParameters = positionalParameters;
   }
 
   public TypeSpec define() {
     TypeSpec.Builder spec = TypeSpec.classBuilder(sourceElement.generatedClass())
+        .addField(parseAllStreamMethod.batchParsers())
         .addMethod(parseMethod.get())
-        .addMethod(parseOrExitMethod.get());
+        .addMethod(parseOrExitMethod.get())
+        .addMethod(reusableMethod.get())
+        .addMethod(concurrentMethod.get())
+        .addMethod(parseAllMethod.get())
+        .addMethod(parseAllStreamMethod.get())
+        .addMethod(parseAllStreamMethod.batchParsersMethod())
+        .addMethod(parseWithStateMethod.get())
+        .addMethod(parseWithListenerMethod.get())
+        .addMethod(suspiciousMethod.get());
+    if (converterCachesMethod.anyCaches()) {
+      spec.addMethod(converterCachesMethod.get());
+    }
     if (!namedOptions.isEmpty()) {
-      spec.addMethod(readOptionNameMethod.get());
+      spec.addMethod(readOptionMethod.get());
+      spec.addMethods(readOptionMethod.chunkMethods());
+      if (readUnixOptionMethod.anyUnixNames()) {
+        spec.addMethod(readUnixOptionMethod.get());
+      }
       if (namedOptions.anyRepeatable() || namedOptions.anyRegular()) {
         spec.addMethod(readOptionArgumentMethod.get());
       }
     }
+    if (namedOptions.anyRepeatable() || namedOptions.anyRegular() || !positionalParameters.isEmpty()) {
+      spec.addMethod(convertMethod.get());
+      spec.addMethods(convertMethod.primitiveMethods());
+    }
 
     spec.addType(statefulParser.get());
     if (!namedOptions.isEmpty()) {
       spec.addType(optionEnum.define());
-      spec.addTypes(optionParser.define());
     }
     spec.addType(impl.define());
 
     spec.addMethod(createModelMethod.get());
+    spec.addType(modelHolder.get());
+    if (!converterHolder.isEmpty()) {
+      spec.addType(converterHolder.holderType());
+    }
 
     return spec.addModifiers(FINAL)
         .addOriginatingElement(sourceElement.element())
@@ -38,20 +38,12 @@ public class GeneratedTypes {
     return Optional.of(type);
   }
 
-  ClassName optionParserType() {
-    return generatedClass.nestedClass("OptionParser");
+  ClassName modelHolderType() {
+    return generatedClass.nestedClass("ModelHolder");
   }
 
-  ClassName repeatableOptionParserType() {
-    return generatedClass.nestedClass("RepeatableOptionParser");
-  }
-
-  ClassName flagParserType() {
-    return generatedClass.nestedClass("FlagParser");
-  }
-
-  ClassName regularOptionParserType() {
-    return generatedClass.nestedClass("RegularOptionParser");
+  ClassName converterHolderType() {
+    return generatedClass.nestedClass("ConverterHolder");
   }
 
   ClassName statefulParserType() {
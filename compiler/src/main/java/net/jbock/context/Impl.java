@@ -15,6 +15,8 @@ import static javax.lang.model.element.Modifier.STATIC;
 
 /**
  * Defines the *Impl inner class.
+ * If there are many items, it has no explicit constructor,
+ * and its fields are set by the helper methods of {@link BuildMethod}.
  *
  * @see GeneratedClass
  */
@@ -42,8 +44,10 @@ public class Impl {
     for (Mapped<? extends AbstractItem> c : context.items()) {
       spec.addField(c.asField());
     }
+    if (!Chunks.isChunked(context.items())) {
+      spec.addMethod(implConstructor());
+    }
     return spec.addModifiers(PRIVATE, STATIC)
-        .addMethod(implConstructor())
         .addMethods(context.items().stream()
             .map(this::parameterMethodOverride)
             .collect(Collectors.toUnmodifiableList()))
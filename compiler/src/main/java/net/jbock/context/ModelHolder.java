@@ -0,0 +1,221 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeSpec;
+import net.jbock.common.SafeElements;
+import net.jbock.common.Util;
+import net.jbock.convert.Mapped;
+import net.jbock.contrib.UsagePrerenderer;
+import net.jbock.model.Arity;
+import net.jbock.model.CommandModel;
+import net.jbock.model.Multiplicity;
+import net.jbock.model.Option;
+import net.jbock.model.Parameter;
+import net.jbock.parameter.NamedOption;
+import net.jbock.parameter.PositionalParameter;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Defines the inner class ModelHolder.
+ * Its only field holds the command model, which is created once,
+ * when the holder class is initialized.
+ * Unless description keys are used, the model also contains the usage
+ * documentation, pre-rendered for the default terminal width.
+ * If there are many items, they are added to the model by helper methods.
+ */
+@ContextScope
+public class ModelHolder extends Cached<TypeSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final Util util;
+  private final SourceElement sourceElement;
+  private final NamedOptions namedOptions;
+  private final PositionalParameters positionalParameters;
+  private final SafeElements elements;
+
+  @Inject
+  ModelHolder(
+      GeneratedTypes generatedTypes,
+      Util util,
+      SourceElement sourceElement,
+      NamedOptions namedOptions,
+      PositionalParameters positionalParameters,
+      SafeElements elements) {
+    this.generatedTypes = generatedTypes;
+    this.util = util;
+    this.sourceElement = sourceElement;
+    this.namedOptions = namedOptions;
+    this.positionalParameters = positionalParameters;
+    this.elements = elements;
+  }
+
+  @Override
+  TypeSpec define() {
+    CommandModel model = createModel();
+    List<CodeBlock> code = new ArrayList<>();
+    code.add(CodeBlock.of("$T.builder()", CommandModel.class));
+    code.add(CodeBlock.of(".withDescriptionKey($S)", model.descriptionKey()));
+    for (String descriptionLine : model.descriptionLines()) {
+      code.add(CodeBlock.of(".addDescriptionLine($S)", descriptionLine));
+    }
+    code.add(CodeBlock.of(".withProgramName($S)", model.programName()));
+    code.add(CodeBlock.of(".withAnsi($L)", model.ansi()));
+    code.add(CodeBlock.of(".withHelpEnabled($L)", model.helpEnabled()));
+    code.add(CodeBlock.of(".withSuperCommand($L)", model.superCommand()));
+    code.add(CodeBlock.of(".withAtFileExpansion($L)", model.atFileExpansion()));
+    List<CodeBlock> items = new ArrayList<>();
+    for (Option option : model.options()) {
+      items.add(CodeBlock.of(".addOption($L)", optionBlock(option)));
+    }
+    for (Parameter parameter : model.parameters()) {
+      items.add(CodeBlock.of(".addParameter($L)", parameterBlock(parameter)));
+    }
+    if (!usesDescriptionKeys(model)) {
+      items.add(CodeBlock.of(".withUsageRendererVersion($L)", UsagePrerenderer.version()));
+      for (String line : UsagePrerenderer.render(model)) {
+        items.add(CodeBlock.of(".addPrerenderedUsageLine($S)", line));
+      }
+    }
+    TypeSpec.Builder spec = TypeSpec.classBuilder(generatedTypes.modelHolderType());
+    if (Chunks.isChunked(items)) {
+      addChunkedModel(spec, code, items);
+    } else {
+      code.addAll(items);
+      code.add(CodeBlock.of(".build()"));
+      spec.addField(FieldSpec.builder(CommandModel.class, "MODEL", STATIC, FINAL)
+          .initializer(util.joinByNewline(code))
+          .build());
+    }
+    return spec.addModifiers(PRIVATE, STATIC, FINAL).build();
+  }
+
+  /* If there are many items, the model is created by a static method,
+   * which adds the items in chunks.
+   */
+  private void addChunkedModel(TypeSpec.Builder spec, List<CodeBlock> code, List<CodeBlock> items) {
+    ParameterSpec builder = ParameterSpec.builder(CommandModel.Builder.class, "builder").build();
+    List<List<CodeBlock>> chunks = Chunks.partition(items);
+    MethodSpec.Builder createModel = MethodSpec.methodBuilder("createModel")
+        .addStatement("$T $N = $L", builder.type, builder, util.joinByNewline(code));
+    for (int i = 0; i < chunks.size(); i++) {
+      createModel.addStatement("addItems$L($N)", i, builder);
+      List<CodeBlock> chunk = new ArrayList<>(chunks.get(i).size() + 1);
+      chunk.add(CodeBlock.of("$N", builder));
+      chunk.addAll(chunks.get(i));
+      spec.addMethod(MethodSpec.methodBuilder("addItems" + i)
+          .addParameter(builder)
+          .addStatement("$L", util.joinByNewline(chunk))
+          .addModifiers(PRIVATE, STATIC)
+          .build());
+    }
+    MethodSpec createModelMethod = createModel.addStatement("return $N.build()", builder)
+        .returns(CommandModel.class)
+        .addModifiers(PRIVATE, STATIC)
+        .build();
+    spec.addField(FieldSpec.builder(CommandModel.class, "MODEL", STATIC, FINAL)
+        .initializer("$N()", createModelMethod)
+        .build());
+    spec.addMethod(createModelMethod);
+  }
+
+  FieldSpec model() {
+    return get().fieldSpecs.get(0);
+  }
+
+  /* The same model that the generated code will create at runtime.
+   * It is used to pre-render the usage documentation.
+   */
+  private CommandModel createModel() {
+    CommandModel.Builder builder = CommandModel.builder()
+        .withDescriptionKey(sourceElement.descriptionKey().orElse(""))
+        .withProgramName(sourceElement.programName())
+        .withAnsi(sourceElement.isAnsi())
+        .withHelpEnabled(sourceElement.helpEnabled())
+        .withSuperCommand(sourceElement.isSuperCommand())
+        .withAtFileExpansion(sourceElement.atFileExpansion());
+    for (String descriptionLine : sourceElement.description(elements)) {
+      builder.addDescriptionLine(descriptionLine);
+    }
+    for (Mapped<NamedOption> c : namedOptions.options()) {
+      Option.Builder option = Option.builder()
+          .withParamLabel(c.paramLabel())
+          .withDescriptionKey(c.item().descriptionKey().orElse(""))
+          .withNames(c.item().names());
+      if (c.isFlag()) {
+        option.withModeFlag();
+      } else {
+        option.withMultiplicity(c.multiplicity());
+      }
+      for (String line : c.item().description(elements)) {
+        option.addDescriptionLine(line);
+      }
+      builder.addOption(option.build());
+    }
+    for (Mapped<PositionalParameter> c : positionalParameters.parameters()) {
+      Parameter.Builder parameter = Parameter.builder()
+          .withParamLabel(c.paramLabel())
+          .withDescriptionKey(c.item().descriptionKey().orElse(""))
+          .withMultiplicity(c.multiplicity());
+      for (String line : c.item().description(elements)) {
+        parameter.addDescriptionLine(line);
+      }
+      builder.addParameter(parameter.build());
+    }
+    return builder.build();
+  }
+
+  private static boolean usesDescriptionKeys(CommandModel model) {
+    if (!model.descriptionKey().isEmpty()) {
+      return true;
+    }
+    return Stream.concat(model.options().stream(), model.parameters().stream())
+        .anyMatch(item -> !item.descriptionKey().isEmpty());
+  }
+
+  private CodeBlock optionBlock(Option option) {
+    List<CodeBlock> names = new ArrayList<>();
+    for (String name : option.names()) {
+      names.add(CodeBlock.of("$S", name));
+    }
+    List<CodeBlock> code = new ArrayList<>();
+    code.add(CodeBlock.of("$T.builder()", Option.class));
+    code.add(CodeBlock.of(".withParamLabel($S)", option.paramLabel()));
+    code.add(CodeBlock.of(".withDescriptionKey($S)", option.descriptionKey()));
+    code.add(CodeBlock.of(".withNames($T.of($L))", List.class, util.joinByComma(names)));
+    if (option.arity() == Arity.NULLARY) {
+      code.add(CodeBlock.of(".withModeFlag()"));
+    } else {
+      code.add(CodeBlock.of(".withMultiplicity($T.$L)", Multiplicity.class, option.multiplicity().name()));
+    }
+    for (String line : option.description()) {
+      code.add(CodeBlock.of(".addDescriptionLine($S)", line));
+    }
+    code.add(CodeBlock.of(".build()"));
+    return util.joinByNewline(code);
+  }
+
+  private CodeBlock parameterBlock(Parameter parameter) {
+    List<CodeBlock> code = new ArrayList<>();
+    code.add(CodeBlock.of("$T.builder()", Parameter.class));
+    code.add(CodeBlock.of(".withParamLabel($S)", parameter.paramLabel()));
+    code.add(CodeBlock.of(".withDescriptionKey($S)", parameter.descriptionKey()));
+    code.add(CodeBlock.of(".withMultiplicity($T.$L)", Multiplicity.class, parameter.multiplicity().name()));
+    for (String line : parameter.description()) {
+      code.add(CodeBlock.of(".addDescriptionLine($S)", line));
+    }
+    code.add(CodeBlock.of(".build()"));
+    return util.joinByNewline(code);
+  }
+}
@@ -0,0 +1,49 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.List;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static net.jbock.common.Constants.STRING_ARRAY;
+
+/**
+ * Generates the method {@code parseAll(List<String[]>)}.
+ */
+@ContextScope
+public class ParseAllMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final SourceElement sourceElement;
+  private final ParseAllStreamMethod parseAllStreamMethod;
+
+  @Inject
+  ParseAllMethod(
+      GeneratedTypes generatedTypes,
+      SourceElement sourceElement,
+      ParseAllStreamMethod parseAllStreamMethod) {
+    this.generatedTypes = generatedTypes;
+    this.sourceElement = sourceElement;
+    this.parseAllStreamMethod = parseAllStreamMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec argsList = builder(ParameterizedTypeName.get(ClassName.get(List.class), STRING_ARRAY),
+        "argsList").build();
+    TypeName returnType = ParameterizedTypeName.get(ClassName.get(List.class),
+        generatedTypes.parseResultType());
+    return MethodSpec.methodBuilder(parseAllStreamMethod.get().name)
+        .addParameter(argsList)
+        .addStatement("return $N($N.stream())", parseAllStreamMethod.get(), argsList)
+        .returns(returnType)
+        .addModifiers(sourceElement.accessModifiers())
+        .build();
+  }
+}
@@ -0,0 +1,94 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.VOLATILE;
+import static net.jbock.common.Constants.STRING_ARRAY;
+
+/**
+ * Generates the method {@code parseAll(Stream<String[]>)},
+ * which parses the argument vectors in parallel.
+ * The results are returned in encounter order.
+ * Each worker thread reuses its StatefulParser across calls,
+ * via a thread-local which is held in a field of the parser instance.
+ * The thread-local is created when parseAll is first invoked,
+ * so that parser instances which are never used for parseAll
+ * do not pay for it.
+ */
+@ContextScope
+public class ParseAllStreamMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final SourceElement sourceElement;
+  private final ParseWithStateMethod parseWithStateMethod;
+  private final FieldSpec batchParsers;
+
+  @Inject
+  ParseAllStreamMethod(
+      GeneratedTypes generatedTypes,
+      SourceElement sourceElement,
+      ParseWithStateMethod parseWithStateMethod) {
+    this.generatedTypes = generatedTypes;
+    this.sourceElement = sourceElement;
+    this.parseWithStateMethod = parseWithStateMethod;
+    this.batchParsers = FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ThreadLocal.class),
+            generatedTypes.statefulParserType()), "batchParsers", PRIVATE, VOLATILE)
+        .build();
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec argsStream = builder(ParameterizedTypeName.get(ClassName.get(Stream.class), STRING_ARRAY),
+        "argsStream").build();
+    ParameterSpec args = builder(STRING_ARRAY, "args").build();
+    ParameterSpec statefulParsers = builder(batchParsers.type, "statefulParsers").build();
+    TypeName returnType = ParameterizedTypeName.get(ClassName.get(List.class),
+        generatedTypes.parseResultType());
+    return MethodSpec.methodBuilder("parseAll")
+        .addParameter(argsStream)
+        .addStatement("$T $N = $N()", statefulParsers.type, statefulParsers, batchParsersMethod())
+        .addStatement("return $N.parallel()\n.map($N -> $N($N, $N.get().reset()))\n.collect($T.toList())",
+            argsStream, args, parseWithStateMethod.get(), args, statefulParsers, Collectors.class)
+        .returns(returnType)
+        .addModifiers(sourceElement.accessModifiers())
+        .build();
+  }
+
+  FieldSpec batchParsers() {
+    return batchParsers;
+  }
+
+  /* Double-checked locking, so that all threads share one thread-local. */
+  MethodSpec batchParsersMethod() {
+    ParameterSpec result = builder(batchParsers.type, "result").build();
+    return MethodSpec.methodBuilder("batchParsers")
+        .addStatement("$T $N = $N", result.type, result, batchParsers)
+        .beginControlFlow("if ($N == null)", result)
+        .beginControlFlow("synchronized (this)")
+        .addStatement("$N = $N", result, batchParsers)
+        .beginControlFlow("if ($N == null)", result)
+        .addStatement("$N = $T.withInitial($T::new)", result, ThreadLocal.class,
+            generatedTypes.statefulParserType())
+        .addStatement("$N = $N", batchParsers, result)
+        .endControlFlow()
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return $N", result)
+        .returns(batchParsers.type)
+        .addModifiers(PRIVATE)
+        .build();
+  }
+}
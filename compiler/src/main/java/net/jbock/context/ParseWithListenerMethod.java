@@ -0,0 +1,112 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import net.jbock.either.Either;
+import net.jbock.processor.SourceElement;
+import net.jbock.util.AtFileException;
+import net.jbock.util.AtFileExpansion;
+import net.jbock.util.AtFileReader;
+import net.jbock.util.ExNotSuccess;
+import net.jbock.util.HelpRequested;
+import net.jbock.util.ParseListener;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static net.jbock.common.Constants.STRING_ARRAY;
+import static net.jbock.common.Constants.STRING_ITERATOR;
+
+/**
+ * Generates the method {@code parse(String[], StatefulParser, ParseListener)},
+ * which does the actual parsing.
+ * The listener parameter may be {@code null}.
+ */
+@ContextScope
+public class ParseWithListenerMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final AllItems allItems;
+  private final SourceElement sourceElement;
+  private final BuildMethod buildMethod;
+  private final CreateModelMethod createModelMethod;
+
+  @Inject
+  ParseWithListenerMethod(
+      GeneratedTypes generatedTypes,
+      AllItems allItems,
+      SourceElement sourceElement,
+      BuildMethod buildMethod,
+      CreateModelMethod createModelMethod) {
+    this.generatedTypes = generatedTypes;
+    this.allItems = allItems;
+    this.sourceElement = sourceElement;
+    this.buildMethod = buildMethod;
+    this.createModelMethod = createModelMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+
+    ParameterSpec args = builder(STRING_ARRAY, "args").build();
+    ParameterSpec state = builder(generatedTypes.statefulParserType(), "statefulParser").build();
+    ParameterSpec it = builder(STRING_ITERATOR, "it").build();
+    ParameterSpec listener = builder(ParseListener.class, "listener").build();
+
+    CodeBlock.Builder code = CodeBlock.builder();
+
+    if (sourceElement.helpEnabled()) {
+      if (allItems.anyRequired()) {
+        code.add("if ($N.length == 0)\n", args).indent()
+            .addStatement("return $T.left(new $T($N()))", Either.class, HelpRequested.class,
+                createModelMethod.get())
+            .unindent();
+      }
+      code.add("if ($1N.length == 1 && $2S.equals($1N[0]))\n", args, "--help").indent()
+          .addStatement("return $T.left(new $T($N()))", Either.class, HelpRequested.class,
+              createModelMethod.get())
+          .unindent();
+    }
+
+    code.addStatement("$T $N = $T.asList($N).iterator()", it.type, it, Arrays.class, args);
+    ParameterSpec e = builder(Exception.class, "e").build();
+    if (sourceElement.atFileExpansion()) {
+      ParameterSpec tokens = builder(AtFileExpansion.class, "tokens").build();
+      code.add("try ($T $N = new $T().expand($N)) {\n", tokens.type, tokens, AtFileReader.class, it).indent()
+          .add(parseAndBuild(tokens, state, listener))
+          .unindent().add("} catch ($T $N) {\n", ExNotSuccess.class, e).indent()
+          .addStatement("return $T.left($N.toError($N()))", Either.class, e, createModelMethod.get())
+          .unindent().add("} catch ($T $N) {\n", AtFileException.class, e).indent()
+          .addStatement("return $T.left($N.toError($N()))", Either.class, e, createModelMethod.get())
+          .unindent().add("}\n");
+    } else {
+      code.add("try {\n").indent()
+          .add(parseAndBuild(it, state, listener))
+          .unindent().add("} catch ($T $N) {\n", ExNotSuccess.class, e).indent()
+          .addStatement("return $T.left($N.toError($N()))", Either.class, e, createModelMethod.get())
+          .unindent().add("}\n");
+    }
+
+    return MethodSpec.methodBuilder("parse")
+        .addParameter(args)
+        .addParameter(state)
+        .addParameter(listener)
+        .returns(generatedTypes.parseResultType())
+        .addCode(code.build())
+        .addModifiers(PRIVATE)
+        .build();
+  }
+
+  private CodeBlock parseAndBuild(ParameterSpec it, ParameterSpec state, ParameterSpec listener) {
+    return CodeBlock.builder()
+        .addStatement("$N.parse($N)", state, it)
+        .add("if ($N != null)\n", listener).indent()
+        .addStatement("$N.tokensRead($N())", listener, createModelMethod.get())
+        .unindent()
+        .addStatement("return $T.right($N.$N())", Either.class, state, buildMethod.get())
+        .build();
+  }
+}
@@ -0,0 +1,59 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import net.jbock.util.ParseListener;
+import net.jbock.util.ParseListeners;
+
+import javax.inject.Inject;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static net.jbock.common.Constants.STRING_ARRAY;
+
+/**
+ * Generates the method {@code parse(String[], StatefulParser)}.
+ * If a {@link ParseListener} is registered, it is notified
+ * when parsing starts and ends.
+ */
+@ContextScope
+public class ParseWithStateMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final ParseWithListenerMethod parseWithListenerMethod;
+  private final CreateModelMethod createModelMethod;
+
+  @Inject
+  ParseWithStateMethod(
+      GeneratedTypes generatedTypes,
+      ParseWithListenerMethod parseWithListenerMethod,
+      CreateModelMethod createModelMethod) {
+    this.generatedTypes = generatedTypes;
+    this.parseWithListenerMethod = parseWithListenerMethod;
+    this.createModelMethod = createModelMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec args = builder(STRING_ARRAY, "args").build();
+    ParameterSpec state = builder(generatedTypes.statefulParserType(), "statefulParser").build();
+    ParameterSpec listener = builder(ParseListener.class, "listener").build();
+    ParameterSpec result = builder(generatedTypes.parseResultType(), "result").build();
+    return MethodSpec.methodBuilder("parse")
+        .addParameter(args)
+        .addParameter(state)
+        .returns(generatedTypes.parseResultType())
+        .addStatement("$T $N = $T.current()", listener.type, listener, ParseListeners.class)
+        .addCode("if ($N == null)\n", listener).addCode("$>")
+        .addStatement("return $N($N, $N, null)", parseWithListenerMethod.get(), args, state)
+        .addCode("$<")
+        .addStatement("$N.parseStarted($N())", listener, createModelMethod.get())
+        .addStatement("$T $N = $N($N, $N, $N)", result.type, result,
+            parseWithListenerMethod.get(), args, state, listener)
+        .addStatement("$N.getLeft().ifPresent($N::parseFailed)", result, listener)
+        .addStatement("$N.parseFinished($N())", listener, createModelMethod.get())
+        .addStatement("return $N", result)
+        .addModifiers(PRIVATE)
+        .build();
+  }
+}
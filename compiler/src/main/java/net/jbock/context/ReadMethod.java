@@ -0,0 +1,190 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
+import net.jbock.convert.Mapped;
+import net.jbock.parameter.NamedOption;
+import net.jbock.processor.SourceElement;
+import net.jbock.util.ErrTokenType;
+import net.jbock.util.ExToken;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.squareup.javapoet.TypeName.INT;
+import static com.squareup.javapoet.TypeName.VOID;
+import static java.util.Arrays.asList;
+import static net.jbock.common.Constants.STRING;
+import static net.jbock.common.Constants.STRING_ITERATOR;
+
+/**
+ * Generates the method {@code read} of the inner class StatefulParser.
+ * It stores the argument of a named option in the field of that option.
+ * If unix clustering is supported, it takes the position of the option character
+ * in the token, and returns the position of the next option character
+ * in a unix cluster, or {@code -1}. Otherwise it returns nothing.
+ * It also takes the position of the first {@code '='} in the token, or {@code -1}.
+ * If there are many options, the switch is split into helper methods.
+ */
+@ContextScope
+public class ReadMethod extends Cached<MethodSpec> {
+
+  private final NamedOptions namedOptions;
+  private final CommonFields commonFields;
+  private final ReadOptionArgumentMethod readOptionArgumentMethod;
+
+  private final ParameterSpec token = ParameterSpec.builder(STRING, "token").build();
+  private final ParameterSpec it = ParameterSpec.builder(STRING_ITERATOR, "it").build();
+  private final ParameterSpec position = ParameterSpec.builder(INT, "position").build();
+  private final ParameterSpec end = ParameterSpec.builder(INT, "end").build();
+  private final ParameterSpec option;
+
+  @Inject
+  ReadMethod(
+      SourceElement sourceElement,
+      NamedOptions namedOptions,
+      CommonFields commonFields,
+      ReadOptionArgumentMethod readOptionArgumentMethod) {
+    this.namedOptions = namedOptions;
+    this.commonFields = commonFields;
+    this.readOptionArgumentMethod = readOptionArgumentMethod;
+    this.option = ParameterSpec.builder(sourceElement.optionEnumType(), "option").build();
+  }
+
+  @Override
+  MethodSpec define() {
+    List<Mapped<NamedOption>> options = namedOptions.options();
+    if (!Chunks.isChunked(options)) {
+      return readMethod("read", readSwitch(options));
+    }
+    List<List<Mapped<NamedOption>>> chunks = Chunks.partition(options);
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.beginControlFlow("switch ($N.ordinal() / $L)", option, Chunks.CHUNK_SIZE);
+    for (int i = 0; i < chunks.size(); i++) {
+      code.add("case $L:\n", i).indent();
+      if (namedOptions.unixClusteringSupported()) {
+        code.addStatement("return read$L($N, $N, $N, $N, $N)", i, option, token, position, end, it);
+      } else {
+        code.addStatement("read$L($N, $N, $N, $N)", i, option, token, end, it);
+        code.addStatement("return");
+      }
+      code.unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("throw new $T($N)", AssertionError.class, option)
+        .unindent();
+    code.endControlFlow();
+    return readMethod("read", code.build());
+  }
+
+  /**
+   * Returns the helper methods that the read method delegates to,
+   * if there are too many options for a single method.
+   *
+   * @return helper methods, or an empty list
+   */
+  List<MethodSpec> chunkMethods() {
+    List<Mapped<NamedOption>> options = namedOptions.options();
+    if (!Chunks.isChunked(options)) {
+      return List.of();
+    }
+    List<List<Mapped<NamedOption>>> chunks = Chunks.partition(options);
+    List<MethodSpec> result = new ArrayList<>(chunks.size());
+    for (int i = 0; i < chunks.size(); i++) {
+      result.add(readMethod("read" + i, readSwitch(chunks.get(i))));
+    }
+    return result;
+  }
+
+  private MethodSpec readMethod(String methodName, CodeBlock code) {
+    return MethodSpec.methodBuilder(methodName)
+        .addException(ExToken.class)
+        .addParameters(namedOptions.unixClusteringSupported() ?
+            asList(option, token, position, end, it) :
+            asList(option, token, end, it))
+        .addCode(code)
+        .returns(readMethodReturnType())
+        .build();
+  }
+
+  private CodeBlock readSwitch(List<Mapped<NamedOption>> options) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.beginControlFlow("switch ($N)", option);
+    for (Mapped<NamedOption> c : options) {
+      FieldSpec field = commonFields.optionState(c);
+      code.add("case $N:\n", c.enumConstant()).indent();
+      if (c.isFlag()) {
+        code.add(namedOptions.unixClusteringSupported() ?
+            readFlagClustering(field) :
+            readFlagSimple(field));
+      } else if (c.isRepeatable()) {
+        code.addStatement("if ($N == null) $N = new $T<>()", field, field, ArrayList.class);
+        code.addStatement("$N.add($L)", field, readOptionArgument());
+        code.addStatement(namedOptions.unixClusteringSupported() ? "return -1" : "return");
+      } else {
+        code.add("if ($N != null)\n", field).indent()
+            .addStatement(throwRepetitionErrorStatement())
+            .unindent();
+        code.addStatement("$N = $L", field, readOptionArgument());
+        code.addStatement(namedOptions.unixClusteringSupported() ? "return -1" : "return");
+      }
+      code.unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("throw new $T($N)", AssertionError.class, option)
+        .unindent();
+    return code.endControlFlow().build();
+  }
+
+  private CodeBlock readFlagClustering(FieldSpec seen) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.add("if ($N)\n", seen).indent()
+        .addStatement(throwRepetitionErrorStatement())
+        .unindent();
+    code.addStatement("$N = $L", seen, true);
+    code.add("if ($1N.charAt(1) == '-' || $1N.length() <= $2N + 1)\n", token, position).indent()
+        .addStatement("return -1")
+        .unindent();
+    code.addStatement("return $N + 1", position);
+    return code.build();
+  }
+
+  private CodeBlock readOptionArgument() {
+    return namedOptions.unixClusteringSupported() ?
+        CodeBlock.of("$N($N, $N, $N, $N)", readOptionArgumentMethod.get(), token, position, end, it) :
+        CodeBlock.of("$N($N, $N, $N)", readOptionArgumentMethod.get(), token, end, it);
+  }
+
+  private CodeBlock readFlagSimple(FieldSpec seen) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.add("if ($N.charAt(1) != '-' && $N.length() > 2 || $N >= 0)\n", token, token, end).indent()
+        .addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+            ErrTokenType.INVALID_UNIX_GROUP, token)
+        .unindent();
+    code.add("if ($N)\n", seen).indent()
+        .addStatement(throwRepetitionErrorStatement())
+        .unindent();
+    code.addStatement("$N = $L", seen, true);
+    code.addStatement("return");
+    return code.build();
+  }
+
+  private CodeBlock throwRepetitionErrorStatement() {
+    if (namedOptions.unixClusteringSupported()) {
+      // in a unix cluster, report the rest of the cluster starting at this option
+      return CodeBlock.of("throw new $T($T.$L, $N == 1 ? $N : '-' + $N.substring($N))",
+          ExToken.class, ErrTokenType.class, ErrTokenType.OPTION_REPETITION,
+          position, token, token, position);
+    }
+    return CodeBlock.of("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+        ErrTokenType.OPTION_REPETITION, token);
+  }
+
+  private TypeName readMethodReturnType() {
+    return namedOptions.unixClusteringSupported() ? INT : VOID;
+  }
+}
@@ -10,43 +10,73 @@ import javax.inject.Inject;
 
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.ParameterSpec.builder;
+import static com.squareup.javapoet.TypeName.INT;
 import static java.util.Arrays.asList;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
 import static net.jbock.common.Constants.STRING;
 import static net.jbock.common.Constants.STRING_ITERATOR;
 
+/**
+ * Generates the static method readOptionArgument,
+ * which returns the argument of a non-flag option.
+ * It takes the position of the first {@code '='} in the token, or {@code -1},
+ * so the token is not scanned again.
+ * The only copy that is made is the attached argument.
+ * If unix clustering is supported, it also takes the position of the
+ * option character, because the option may be anywhere in a cluster.
+ */
 @ContextScope
 public class ReadOptionArgumentMethod extends Cached<MethodSpec> {
 
+  private final NamedOptions namedOptions;
+  private final ParameterSpec position = builder(INT, "position").build();
+
   @Inject
-  ReadOptionArgumentMethod() {
+  ReadOptionArgumentMethod(NamedOptions namedOptions) {
+    this.namedOptions = namedOptions;
   }
 
   @Override
   MethodSpec define() {
     ParameterSpec token = builder(STRING, "token").build();
     ParameterSpec it = builder(STRING_ITERATOR, "it").build();
+    ParameterSpec end = builder(INT, "end").build();
+    MethodSpec.Builder spec = methodBuilder("readOptionArgument");
     CodeBlock.Builder code = CodeBlock.builder();
 
-    code.add("if ($N.charAt(1) == '-' && $N.indexOf('=') >= 0)\n", token, token).indent()
-        .addStatement("return $N.substring($N.indexOf('=') + 1)", token, token).unindent();
-
-    code.add("if ($N.charAt(1) != '-' && $N.length() >= 3)\n", token, token).indent()
-        .addStatement("return $N.substring(2)", token).unindent();
+    code.beginControlFlow("if ($N.charAt(1) == '-')", token)
+        .add("if ($N >= 0)\n", end).indent()
+        .addStatement("return $N.substring($N + 1)", token, end).unindent();
+    if (namedOptions.unixClusteringSupported()) {
+      code.nextControlFlow("else if ($N.length() > $N + 1)", token, position)
+          .addStatement("return $N.substring($N + 1)", token, position);
+      spec.addParameters(asList(token, position, end, it));
+    } else {
+      code.nextControlFlow("else if ($N.length() >= 3)", token)
+          .addStatement("return $N.substring(2)", token);
+      spec.addParameters(asList(token, end, it));
+    }
+    code.endControlFlow();
 
     code.add("if (!$N.hasNext())\n", it).indent()
-        .addStatement("throw new $T($T.$L, $N)", ExToken.class,
-            ErrTokenType.class, ErrTokenType.MISSING_ARGUMENT, token)
+        .addStatement("throw new $T($T.$L, $L)", ExToken.class,
+            ErrTokenType.class, ErrTokenType.MISSING_ARGUMENT, errorToken(token))
         .unindent();
 
     code.addStatement("return $N.next()", it);
-    return methodBuilder("readOptionArgument")
-        .addException(ExToken.class)
+    return spec.addException(ExToken.class)
         .addCode(code.build())
-        .addParameters(asList(token, it))
         .returns(STRING)
         .addModifiers(PRIVATE, STATIC)
         .build();
   }
+
+  /* In a unix cluster, the missing argument belongs to the last option. */
+  private CodeBlock errorToken(ParameterSpec token) {
+    if (!namedOptions.unixClusteringSupported()) {
+      return CodeBlock.of("$N", token);
+    }
+    return CodeBlock.of("$N == 1 ? $N : '-' + $N.substring($N)", position, token, token, position);
+  }
 }
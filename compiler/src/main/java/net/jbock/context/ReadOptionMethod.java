@@ -0,0 +1,204 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import net.jbock.convert.Mapped;
+import net.jbock.parameter.NamedOption;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.squareup.javapoet.TypeName.INT;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.STRING;
+
+/**
+ * Generates the static method readOption,
+ * which maps a token to its option without a map lookup.
+ * It takes the position of the first {@code '='} in the token,
+ * or {@code -1}, which the caller has computed.
+ * The long names are found by switching on the length of the name,
+ * and then on characters of the token, until a single candidate remains.
+ * Only that candidate is compared with the token.
+ * If there are many long names, parts of the search
+ * are split into helper methods.
+ */
+@ContextScope
+public class ReadOptionMethod extends Cached<MethodSpec> {
+
+  private final NamedOptions namedOptions;
+  private final SourceElement sourceElement;
+  private final ReadUnixOptionMethod readUnixOptionMethod;
+  private final ParameterSpec token = ParameterSpec.builder(STRING, "token").build();
+  private final ParameterSpec end = ParameterSpec.builder(INT, "end").build();
+  private final List<MethodSpec> chunkMethods = new ArrayList<>();
+
+  @Inject
+  ReadOptionMethod(
+      NamedOptions namedOptions,
+      SourceElement sourceElement,
+      ReadUnixOptionMethod readUnixOptionMethod) {
+    this.namedOptions = namedOptions;
+    this.sourceElement = sourceElement;
+    this.readUnixOptionMethod = readUnixOptionMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+    Map<Integer, List<Map.Entry<String, String>>> gnuNamesByLength = gnuNamesByLength();
+
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.add("if ($N.length() <= 1 || $N.charAt(0) != '-')\n", token, token).indent()
+        .addStatement("return null").unindent();
+
+    code.beginControlFlow("if ($N.charAt(1) != '-')", token)
+        .addStatement(readUnixOptionMethod.anyUnixNames() ?
+            CodeBlock.of("return $N($N.charAt(1))", readUnixOptionMethod.get(), token) :
+            CodeBlock.of("return null"))
+        .endControlFlow();
+
+    if (gnuNamesByLength.isEmpty()) {
+      code.addStatement("return null");
+    } else {
+      code.add(gnuNameSwitch(gnuNamesByLength));
+    }
+
+    return MethodSpec.methodBuilder("readOption")
+        .addParameter(token)
+        .addParameter(end)
+        .addCode(code.build())
+        .addModifiers(STATIC, PRIVATE)
+        .returns(sourceElement.optionEnumType()).build();
+  }
+
+  /**
+   * Returns the helper methods that the readOption method delegates to,
+   * if there are too many long names for a single method.
+   *
+   * @return helper methods, or an empty list
+   */
+  List<MethodSpec> chunkMethods() {
+    get();
+    return chunkMethods;
+  }
+
+  private Map<Integer, List<Map.Entry<String, String>>> gnuNamesByLength() {
+    Map<Integer, List<Map.Entry<String, String>>> gnuNamesByLength = new TreeMap<>();
+    for (Mapped<NamedOption> option : namedOptions.options()) {
+      for (String name : option.item().names()) {
+        if (name.startsWith("--")) {
+          gnuNamesByLength.computeIfAbsent(name.length(), length -> new ArrayList<>())
+              .add(Map.entry(name, option.enumConstant()));
+        }
+      }
+    }
+    return gnuNamesByLength;
+  }
+
+  private CodeBlock gnuNameSwitch(Map<Integer, List<Map.Entry<String, String>>> gnuNamesByLength) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.beginControlFlow("switch ($1N < 0 ? $2N.length() : $1N)", end, token);
+    int inlined = 0;
+    for (Map.Entry<Integer, List<Map.Entry<String, String>>> group : gnuNamesByLength.entrySet()) {
+      code.add("case $L:\n", group.getKey()).indent();
+      inlined = addBranch(code, group.getValue(), inlined);
+      code.unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("return null")
+        .unindent();
+    return code.endControlFlow().build();
+  }
+
+  /* Adds the search for the given names, which all have the same length.
+   * The search is inlined, unless the current method already contains
+   * too many names; then it is moved to a helper method.
+   * Returns the new number of names in the current method.
+   */
+  private int addBranch(CodeBlock.Builder code, List<Map.Entry<String, String>> names, int inlined) {
+    if (names.size() > 1 && inlined + names.size() > Chunks.CHUNK_SIZE) {
+      code.addStatement("return $N($N)", chunkMethod(names), token);
+      return inlined + 1;
+    }
+    code.add(nameTree(names));
+    return inlined + names.size();
+  }
+
+  private MethodSpec chunkMethod(List<Map.Entry<String, String>> names) {
+    MethodSpec.Builder spec = MethodSpec.methodBuilder("readLongOption" + chunkMethods.size());
+    chunkMethods.add(null); // reserve the name, the tree may add more helpers
+    int index = chunkMethods.size() - 1;
+    MethodSpec method = spec.addParameter(token)
+        .addCode(nameTree(names))
+        .addModifiers(STATIC, PRIVATE)
+        .returns(sourceElement.optionEnumType()).build();
+    chunkMethods.set(index, method);
+    return method;
+  }
+
+  /* Switches on the character position that best separates the names,
+   * until a single candidate remains.
+   */
+  private CodeBlock nameTree(List<Map.Entry<String, String>> names) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    if (names.size() == 1) {
+      Map.Entry<String, String> name = names.get(0);
+      code.add("if ($N.regionMatches(0, $S, 0, $L))\n", token, name.getKey(), name.getKey().length()).indent()
+          .addStatement("return $T.$L", sourceElement.optionEnumType(), name.getValue())
+          .unindent();
+      return code.addStatement("return null").build();
+    }
+    int position = splitPosition(names);
+    Map<Character, List<Map.Entry<String, String>>> groups = new TreeMap<>();
+    for (Map.Entry<String, String> name : names) {
+      groups.computeIfAbsent(name.getKey().charAt(position), c -> new ArrayList<>()).add(name);
+    }
+    code.beginControlFlow("switch ($N.charAt($L))", token, position);
+    int inlined = 0;
+    for (Map.Entry<Character, List<Map.Entry<String, String>>> group : groups.entrySet()) {
+      code.add("case $L:\n", charLiteral(group.getKey())).indent();
+      inlined = addBranch(code, group.getValue(), inlined);
+      code.unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("return null")
+        .unindent();
+    return code.endControlFlow().build();
+  }
+
+  /* The position with the most distinct characters.
+   * The names are distinct and have the same length,
+   * so there is always a position with at least two.
+   */
+  private static int splitPosition(List<Map.Entry<String, String>> names) {
+    int length = names.get(0).getKey().length();
+    int best = -1;
+    int bestCount = 0;
+    for (int i = 2; i < length; i++) {
+      Set<Character> chars = new HashSet<>();
+      for (Map.Entry<String, String> name : names) {
+        chars.add(name.getKey().charAt(i));
+      }
+      if (chars.size() > bestCount) {
+        best = i;
+        bestCount = chars.size();
+      }
+    }
+    return best;
+  }
+
+  private static CodeBlock charLiteral(char c) {
+    if (c >= ' ' && c <= '~' && c != '\'' && c != '\\') {
+      return CodeBlock.of("'$L'", c);
+    }
+    return CodeBlock.of("$L", (int) c);
+  }
+}
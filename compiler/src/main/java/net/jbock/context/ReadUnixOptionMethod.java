@@ -0,0 +1,82 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import net.jbock.convert.Mapped;
+import net.jbock.parameter.NamedOption;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.squareup.javapoet.TypeName.CHAR;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates the static method readUnixOption,
+ * which maps the character of a unix name to its option.
+ * It is used for the first option in a token, and also
+ * for each following option in a unix cluster like {@code -xzvf}.
+ */
+@ContextScope
+public class ReadUnixOptionMethod extends Cached<MethodSpec> {
+
+  private final NamedOptions namedOptions;
+  private final SourceElement sourceElement;
+
+  @Inject
+  ReadUnixOptionMethod(
+      NamedOptions namedOptions,
+      SourceElement sourceElement) {
+    this.namedOptions = namedOptions;
+    this.sourceElement = sourceElement;
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec c = ParameterSpec.builder(CHAR, "c").build();
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.beginControlFlow("switch ($N)", c);
+    unixNames().forEach((name, enumConstant) -> code.add("case $L:\n", charLiteral(name)).indent()
+        .addStatement("return $T.$L", sourceElement.optionEnumType(), enumConstant)
+        .unindent());
+    code.add("default:\n").indent()
+        .addStatement("return null")
+        .unindent();
+    code.endControlFlow();
+    return MethodSpec.methodBuilder("readUnixOption")
+        .addParameter(c)
+        .addCode(code.build())
+        .addModifiers(STATIC, PRIVATE)
+        .returns(sourceElement.optionEnumType()).build();
+  }
+
+  boolean anyUnixNames() {
+    return !unixNames().isEmpty();
+  }
+
+  private Map<Character, String> unixNames() {
+    Map<Character, String> unixNames = new TreeMap<>();
+    for (Mapped<NamedOption> option : namedOptions.options()) {
+      for (String name : option.item().names()) {
+        if (!name.startsWith("--")) {
+          unixNames.put(name.charAt(1), option.enumConstant());
+        }
+      }
+    }
+    return unixNames;
+  }
+
+  private static String charLiteral(char c) {
+    if (c == '\'' || c == '\\') {
+      return "'\\" + c + "'";
+    }
+    if (c < 0x20 || c >= 0x7f) {
+      return String.format("'\\u%04x'", (int) c);
+    }
+    return "'" + c + "'";
+  }
+}
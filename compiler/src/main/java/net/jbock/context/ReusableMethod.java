@@ -0,0 +1,51 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import net.jbock.processor.SourceElement;
+
+import javax.inject.Inject;
+import java.util.function.Function;
+
+import static com.squareup.javapoet.ParameterSpec.builder;
+import static net.jbock.common.Constants.STRING_ARRAY;
+
+/**
+ * Generates the method {@code reusable()}, which returns a parse function
+ * that resets and reuses a single StatefulParser.
+ * The function is not thread-safe.
+ */
+@ContextScope
+public class ReusableMethod extends Cached<MethodSpec> {
+
+  private final GeneratedTypes generatedTypes;
+  private final SourceElement sourceElement;
+  private final ParseWithStateMethod parseWithStateMethod;
+
+  @Inject
+  ReusableMethod(
+      GeneratedTypes generatedTypes,
+      SourceElement sourceElement,
+      ParseWithStateMethod parseWithStateMethod) {
+    this.generatedTypes = generatedTypes;
+    this.sourceElement = sourceElement;
+    this.parseWithStateMethod = parseWithStateMethod;
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec state = builder(generatedTypes.statefulParserType(), "statefulParser").build();
+    ParameterSpec args = builder(STRING_ARRAY, "args").build();
+    TypeName returnType = ParameterizedTypeName.get(ClassName.get(Function.class),
+        STRING_ARRAY, generatedTypes.parseResultType());
+    return MethodSpec.methodBuilder("reusable")
+        .addStatement("$T $N = new $T()", state.type, state, state.type)
+        .addStatement("return $N -> $N($N, $N.reset())", args, parseWithStateMethod.get(), args, state)
+        .returns(returnType)
+        .addModifiers(sourceElement.accessModifiers())
+        .build();
+  }
+}
@@ -29,6 +29,7 @@ public class StatefulParseMethod {
   private final CommonFields commonFields;
   private final SourceElement sourceElement;
   private final TryParseOptionMethod tryParseOptionMethod;
+  private final SuspiciousMethod suspiciousMethod;
 
   @Inject
   StatefulParseMethod(
@@ -37,13 +38,15 @@ public class StatefulParseMethod {
       PositionalParameters positionalParameters,
       CommonFields commonFields,
       SourceElement sourceElement,
-      TryParseOptionMethod tryParseOptionMethod) {
+      TryParseOptionMethod tryParseOptionMethod,
+      SuspiciousMethod suspiciousMethod) {
     this.generatedTypes = generatedTypes;
     this.options = options;
     this.positionalParameters = positionalParameters;
     this.commonFields = commonFields;
     this.sourceElement = sourceElement;
     this.tryParseOptionMethod = tryParseOptionMethod;
+    this.suspiciousMethod = suspiciousMethod;
   }
 
   MethodSpec define() {
@@ -169,8 +172,8 @@ public class StatefulParseMethod {
   }
 
   CodeBlock errorUnrecognizedOption() {
-    return CodeBlock.builder().add("if ($N.matcher($N).matches())\n",
-        commonFields.suspiciousPattern(), token).indent()
+    return CodeBlock.builder().add("if ($N($N))\n",
+        suspiciousMethod.get(), token).indent()
         .addStatement(throwInvalidOptionStatement(ErrTokenType.INVALID_OPTION))
         .unindent().build();
   }
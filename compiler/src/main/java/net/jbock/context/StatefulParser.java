@@ -1,7 +1,7 @@
 package net.jbock.context;
 
-import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 import net.jbock.convert.Mapped;
@@ -9,12 +9,16 @@ import net.jbock.parameter.NamedOption;
 import net.jbock.processor.SourceElement;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
 
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
 
 /**
- * Defines the inner class StatefulParser
+ * Defines the inner class StatefulParser.
+ * If there are many options, the methods read, build and reset
+ * delegate to helper methods.
  */
 @ContextScope
 public class StatefulParser extends Cached<TypeSpec> {
@@ -27,6 +31,7 @@ public class StatefulParser extends Cached<TypeSpec> {
   private final CommonFields commonFields;
   private final BuildMethod buildMethod;
   private final TryParseOptionMethod tryParseOptionMethod;
+  private final ReadMethod readMethod;
 
   @Inject
   StatefulParser(
@@ -37,7 +42,8 @@ public class StatefulParser extends Cached<TypeSpec> {
       PositionalParameters positionalParameters,
       CommonFields commonFields,
       BuildMethod buildMethod,
-      TryParseOptionMethod tryParseOptionMethod) {
+      TryParseOptionMethod tryParseOptionMethod,
+      ReadMethod readMethod) {
     this.generatedTypes = generatedTypes;
     this.statefulParseMethod = statefulParseMethod;
     this.sourceElement = sourceElement;
@@ -46,6 +52,7 @@ public class StatefulParser extends Cached<TypeSpec> {
     this.commonFields = commonFields;
     this.buildMethod = buildMethod;
     this.tryParseOptionMethod = tryParseOptionMethod;
+    this.readMethod = readMethod;
   }
 
   @Override
@@ -53,12 +60,13 @@ public class StatefulParser extends Cached<TypeSpec> {
     TypeSpec.Builder spec = TypeSpec.classBuilder(generatedTypes.statefulParserType())
         .addModifiers(PRIVATE, STATIC)
         .addMethod(statefulParseMethod.define());
-    spec.addField(commonFields.suspiciousPattern());
     if (!namedOptions.isEmpty()) {
       spec.addMethod(tryParseOptionMethod.get())
-          .addMethod(privateConstructor());
-      spec.addField(commonFields.optionNames());
-      spec.addField(commonFields.optionParsers());
+          .addMethod(readMethod.get())
+          .addMethods(readMethod.chunkMethods());
+      for (Mapped<NamedOption> c : namedOptions.options()) {
+        spec.addField(commonFields.optionState(c));
+      }
     }
     if (!positionalParameters.regular().isEmpty()) {
       spec.addField(commonFields.params());
@@ -67,34 +75,53 @@ public class StatefulParser extends Cached<TypeSpec> {
       spec.addField(commonFields.rest());
     }
     spec.addMethod(buildMethod.get());
+    spec.addMethods(buildMethod.chunkMethods());
+    spec.addMethod(resetMethod());
+    if (Chunks.isChunked(namedOptions.options())) {
+      List<List<Mapped<NamedOption>>> chunks = Chunks.partition(namedOptions.options());
+      for (int i = 0; i < chunks.size(); i++) {
+        spec.addMethod(MethodSpec.methodBuilder("reset" + i)
+            .addCode(resetOptions(chunks.get(i)))
+            .build());
+      }
+    }
     return spec.build();
   }
 
-  private MethodSpec privateConstructor() {
+  private MethodSpec resetMethod() {
     CodeBlock.Builder code = CodeBlock.builder();
-    for (Mapped<NamedOption> namedOption : namedOptions.options()) {
-      String enumConstant = namedOption.enumConstant();
-      for (String dashedName : namedOption.item().names()) {
-        code.addStatement("$N.put($S, $T.$L)",
-            commonFields.optionNames(), dashedName, sourceElement.optionEnumType(),
-            enumConstant);
+    if (Chunks.isChunked(namedOptions.options())) {
+      for (int i = 0; i < Chunks.partition(namedOptions.options()).size(); i++) {
+        code.addStatement("reset$L()", i);
       }
-      code.addStatement("$N.put($T.$L, new $T())",
-          commonFields.optionParsers(), sourceElement.optionEnumType(),
-          enumConstant, optionParserType(namedOption));
+    } else {
+      code.add(resetOptions(namedOptions.options()));
+    }
+    if (!positionalParameters.regular().isEmpty()) {
+      code.addStatement("$T.fill($N, null)", Arrays.class, commonFields.params());
     }
-    return MethodSpec.constructorBuilder()
+    if (positionalParameters.anyRepeatable() || sourceElement.isSuperCommand()) {
+      code.addStatement("$N.clear()", commonFields.rest());
+    }
+    code.addStatement("return this");
+    return MethodSpec.methodBuilder("reset")
         .addCode(code.build())
+        .returns(generatedTypes.statefulParserType())
         .build();
   }
 
-  private ClassName optionParserType(Mapped<NamedOption> param) {
-    if (param.isRepeatable()) {
-      return generatedTypes.repeatableOptionParserType();
-    }
-    if (param.isFlag()) {
-      return generatedTypes.flagParserType();
+  private CodeBlock resetOptions(List<Mapped<NamedOption>> options) {
+    CodeBlock.Builder code = CodeBlock.builder();
+    for (Mapped<NamedOption> c : options) {
+      FieldSpec field = commonFields.optionState(c);
+      if (c.isFlag()) {
+        code.addStatement("$N = $L", field, false);
+      } else if (c.isRepeatable()) {
+        code.addStatement("if ($N != null) $N.clear()", field, field);
+      } else {
+        code.addStatement("$N = null", field);
+      }
     }
-    return generatedTypes.regularOptionParserType();
+    return code.build();
   }
 }
@@ -0,0 +1,58 @@
+package net.jbock.context;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+
+import javax.inject.Inject;
+
+import static com.squareup.javapoet.TypeName.BOOLEAN;
+import static com.squareup.javapoet.TypeName.CHAR;
+import static com.squareup.javapoet.TypeName.INT;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.STRING;
+
+/**
+ * Generates the static method suspicious,
+ * which checks if an unrecognized token looks like an option.
+ * This is equivalent to matching the regex
+ * {@code -[a-zA-Z0-9]+|--[a-zA-Z0-9-]+}.
+ */
+@ContextScope
+public class SuspiciousMethod extends Cached<MethodSpec> {
+
+  @Inject
+  SuspiciousMethod() {
+  }
+
+  @Override
+  MethodSpec define() {
+    ParameterSpec token = ParameterSpec.builder(STRING, "token").build();
+    ParameterSpec gnu = ParameterSpec.builder(BOOLEAN, "gnu").build();
+    ParameterSpec i = ParameterSpec.builder(INT, "i").build();
+    ParameterSpec c = ParameterSpec.builder(CHAR, "c").build();
+
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.add("if ($N.length() <= 1 || $N.charAt(0) != '-')\n", token, token).indent()
+        .addStatement("return false").unindent();
+    code.addStatement("$T $N = $N.charAt(1) == '-'", BOOLEAN, gnu, token);
+    code.add("if ($N && $N.length() == 2)\n", gnu, token).indent()
+        .addStatement("return false").unindent();
+    code.beginControlFlow("for ($T $N = $N ? 2 : 1; $N < $N.length(); $N++)", INT, i, gnu, i, token, i);
+    code.addStatement("$T $N = $N.charAt($N)", CHAR, c, token, i);
+    code.add("if ($1N >= 'a' && $1N <= 'z' || $1N >= 'A' && $1N <= 'Z' || $1N >= '0' && $1N <= '9')\n", c).indent()
+        .addStatement("continue").unindent();
+    code.add("if ($N && $N == '-')\n", gnu, c).indent()
+        .addStatement("continue").unindent();
+    code.addStatement("return false");
+    code.endControlFlow();
+    code.addStatement("return true");
+
+    return MethodSpec.methodBuilder("suspicious")
+        .addParameter(token)
+        .addCode(code.build())
+        .addModifiers(STATIC, PRIVATE)
+        .returns(BOOLEAN).build();
+  }
+}
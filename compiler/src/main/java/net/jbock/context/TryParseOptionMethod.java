@@ -10,26 +10,36 @@ import net.jbock.util.ExToken;
 import javax.inject.Inject;
 
 import static com.squareup.javapoet.TypeName.BOOLEAN;
+import static com.squareup.javapoet.TypeName.INT;
 import static net.jbock.common.Constants.STRING;
 import static net.jbock.common.Constants.STRING_ITERATOR;
 
+/**
+ * Generates the method tryParseOption of the inner class StatefulParser.
+ * The position of the first {@code '='} in the token is computed here,
+ * once per token, and passed on to the methods that need it.
+ */
 public class TryParseOptionMethod extends Cached<MethodSpec> {
 
   private final SourceElement sourceElement;
   private final NamedOptions namedOptions;
-  private final CommonFields commonFields;
-  private final ReadOptionNameMethod readOptionNameMethod;
+  private final ReadOptionMethod readOptionMethod;
+  private final ReadMethod readMethod;
+  private final ReadUnixOptionMethod readUnixOptionMethod;
+  private final ParameterSpec end = ParameterSpec.builder(INT, "end").build();
 
   @Inject
   TryParseOptionMethod(
       SourceElement sourceElement,
       NamedOptions namedOptions,
-      CommonFields commonFields,
-      ReadOptionNameMethod readOptionNameMethod) {
+      ReadOptionMethod readOptionMethod,
+      ReadMethod readMethod,
+      ReadUnixOptionMethod readUnixOptionMethod) {
     this.sourceElement = sourceElement;
     this.namedOptions = namedOptions;
-    this.commonFields = commonFields;
-    this.readOptionNameMethod = readOptionNameMethod;
+    this.readOptionMethod = readOptionMethod;
+    this.readMethod = readMethod;
+    this.readUnixOptionMethod = readUnixOptionMethod;
   }
 
   @Override
@@ -47,20 +57,21 @@ public class TryParseOptionMethod extends Cached<MethodSpec> {
         .build();
   }
 
+  /* Walks a unix cluster like -xzvf by character position. */
   private CodeBlock tryParseOptionCodeClustering(ParameterSpec token, ParameterSpec it) {
-    ParameterSpec r = ParameterSpec.builder(STRING, "r").build();
+    ParameterSpec position = ParameterSpec.builder(INT, "position").build();
     ParameterSpec option = ParameterSpec.builder(sourceElement.optionEnumType(), "option").build();
     CodeBlock.Builder code = CodeBlock.builder();
-    code.addStatement("$T $N = $N.get($N($N))", sourceElement.optionEnumType(),
-        option, commonFields.optionNames(), readOptionNameMethod.get(), token);
+    code.addStatement("$T $N = $N.indexOf('=')", end.type, end, token);
+    code.addStatement("$T $N = $N($N, $N)", sourceElement.optionEnumType(),
+        option, readOptionMethod.get(), token, end);
     code.add("if ($N == null)\n", option).indent()
         .addStatement("return false")
         .unindent();
-    code.addStatement("$T $N = $N", r.type, r, token);
-    code.beginControlFlow("while (($1N = $2N.get($3N).read($1N, $4N)) != null)",
-        r, commonFields.optionParsers(), option, it);
-    code.add("if (($N = $N.get($N($N))) == null)\n", option, commonFields.optionNames(), readOptionNameMethod.get(),
-        r).indent()
+    code.addStatement("$T $N = 1", position.type, position);
+    code.beginControlFlow("while (($1N = $2N($3N, $4N, $1N, $5N, $6N)) >= 0)",
+        position, readMethod.get(), option, token, end, it);
+    code.add("if (($N = $N($N.charAt($N))) == null)\n", option, readUnixOptionMethod.get(), token, position).indent()
         .addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
             ErrTokenType.INVALID_UNIX_GROUP, token)
         .unindent();
@@ -72,12 +83,13 @@ public class TryParseOptionMethod extends Cached<MethodSpec> {
   private CodeBlock tryParseOptionCodeSimple(ParameterSpec token, ParameterSpec it) {
     ParameterSpec option = ParameterSpec.builder(sourceElement.optionEnumType(), "option").build();
     CodeBlock.Builder code = CodeBlock.builder();
-    code.addStatement("$T $N = $N.get($N($N))", sourceElement.optionEnumType(), option,
-        commonFields.optionNames(), readOptionNameMethod.get(), token);
+    code.addStatement("$T $N = $N.indexOf('=')", end.type, end, token);
+    code.addStatement("$T $N = $N($N, $N)", sourceElement.optionEnumType(), option,
+        readOptionMethod.get(), token, end);
     code.add("if ($N == null)\n", option).indent()
         .addStatement("return false")
         .unindent();
-    code.addStatement("$N.get($N).read($N, $N)", commonFields.optionParsers(), option, token, it)
+    code.addStatement("$N($N, $N, $N, $N)", readMethod.get(), option, token, end, it)
         .addStatement("return true");
     return code.build();
   }
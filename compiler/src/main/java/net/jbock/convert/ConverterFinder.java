@@ -8,6 +8,9 @@ import net.jbock.parameter.AbstractItem;
 
 import javax.inject.Inject;
 
+import static net.jbock.either.Either.left;
+import static net.jbock.either.Either.right;
+
 @ParameterScope
 public class ConverterFinder {
 
@@ -26,8 +29,19 @@ public class ConverterFinder {
   }
 
   public <P extends AbstractItem> Either<String, Mapped<P>> findConverter(P parameter) {
+    if (parameter.cacheSize() < 0) {
+      return left("cacheSize must not be negative");
+    }
     return converterClass.converter()
         .map(converter -> converterValidator.get().validate(parameter, converter))
-        .orElseGet(() -> autoConverterFinder.get().findConverter(parameter));
+        .orElseGet(() -> autoConverterFinder.get().findConverter(parameter))
+        .flatMap(this::checkCacheSize);
+  }
+
+  private <P extends AbstractItem> Either<String, Mapped<P>> checkCacheSize(Mapped<P> mapped) {
+    if (mapped.isStatefulConverter() && mapped.item().cacheSize() != 0) {
+      return left("cacheSize is not allowed with a stateful converter");
+    }
+    return right(mapped);
   }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package net.jbock.convert;
 
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -11,66 +12,105 @@ import net.jbock.parameter.NamedOption;
 import net.jbock.util.StringConverter;
 
 import java.util.Locale;
-import java.util.Optional;
 import java.util.function.Function;
 
+import static net.jbock.common.Constants.STRING;
+
 public final class Mapped<P extends AbstractItem> {
 
-  private final CodeBlock mapExpr;
-  private final Optional<CodeBlock> extractExpr;
+  private final CodeBlock converterExpr;
+  private final TypeName baseType;
   private final Multiplicity skew;
   private final P item;
   private final ParameterSpec asParameterSpec;
   private final FieldSpec asFieldSpec;
   private final boolean modeFlag;
+  private final boolean statefulConverter;
+  private final boolean autoConverter;
 
   private Mapped(
-      CodeBlock mapExpr,
-      Optional<CodeBlock> extractExpr,
+      CodeBlock converterExpr,
+      TypeName baseType,
       Multiplicity skew,
       ParameterSpec asParameterSpec,
       FieldSpec asFieldSpec,
       P item,
-      boolean modeFlag) {
+      boolean modeFlag,
+      boolean statefulConverter,
+      boolean autoConverter) {
     this.asParameterSpec = asParameterSpec;
-    this.mapExpr = mapExpr;
-    this.extractExpr = extractExpr;
+    this.converterExpr = converterExpr;
+    this.baseType = baseType;
     this.skew = skew;
     this.asFieldSpec = asFieldSpec;
     this.item = item;
     this.modeFlag = modeFlag;
+    this.statefulConverter = statefulConverter;
+    this.autoConverter = autoConverter;
   }
 
   public static <P extends AbstractItem> Mapped<P> create(
-      CodeBlock mapExpr,
-      Optional<CodeBlock> extractExpr,
+      CodeBlock converterExpr,
+      TypeName baseType,
       Multiplicity skew,
+      boolean statefulConverter,
+      boolean autoConverter,
       P parameter) {
     TypeName fieldType = parameter.returnType();
     String fieldName = '_' + parameter.enumName().enumConstant().toLowerCase(Locale.US);
     FieldSpec asFieldSpec = FieldSpec.builder(fieldType, fieldName).build();
     ParameterSpec asParameterSpec = ParameterSpec.builder(fieldType, fieldName).build();
-    return new Mapped<>(mapExpr, extractExpr, skew, asParameterSpec,
-        asFieldSpec, parameter, false);
+    return new Mapped<>(converterExpr, baseType, skew, asParameterSpec,
+        asFieldSpec, parameter, false, statefulConverter, autoConverter);
   }
 
   public static Mapped<NamedOption> createFlag(NamedOption namedOption) {
-    CodeBlock mapExpr = CodeBlock.of(".map($T.create($T.identity()))", StringConverter.class, Function.class);
+    CodeBlock converterExpr = CodeBlock.of("$T.create($T.identity())", StringConverter.class, Function.class);
     TypeName fieldType = TypeName.BOOLEAN;
     String fieldName = '_' + namedOption.enumName().enumConstant().toLowerCase(Locale.US);
     FieldSpec asFieldSpec = FieldSpec.builder(fieldType, fieldName).build();
     ParameterSpec asParameterSpec = ParameterSpec.builder(fieldType, fieldName).build();
-    return new Mapped<>(mapExpr, Optional.empty(), Multiplicity.OPTIONAL, asParameterSpec,
-        asFieldSpec, namedOption, true);
-  }
-
-
-  public CodeBlock mapExpr() {
-    return mapExpr;
-  }
-
-  public Optional<CodeBlock> extractExpr() {
-    return extractExpr;
+    return new Mapped<>(converterExpr, STRING, Multiplicity.OPTIONAL, asParameterSpec,
+        asFieldSpec, namedOption, true, false, false);
+  }
+
+
+  /**
+   * Returns an expression of type {@code StringConverter<B>},
+   * where {@code B} is the {@link #baseType()}.
+   *
+   * @return converter expression
+   */
+  public CodeBlock converterExpr() {
+    return converterExpr;
+  }
+
+  /**
+   * Returns {@code true} if the converter was declared stateful,
+   * and must not be shared between parsing operations.
+   *
+   * @return {@code true} if the converter is stateful
+   */
+  public boolean isStatefulConverter() {
+    return statefulConverter;
+  }
+
+  /**
+   * Returns {@code true} if this item is a primitive array,
+   * which does not declare a converter or a cache.
+   * The tokens of such an item are parsed directly
+   * into the array, without boxing.
+   *
+   * @return {@code true} if the tokens are parsed as primitives
+   */
+  public boolean isPrimitiveArrayParsed() {
+    return autoConverter
+        && asParameterSpec.type instanceof ArrayTypeName
+        && item.cacheSize() == 0;
+  }
+
+  public TypeName baseType() {
+    return baseType;
   }
 
   public Multiplicity multiplicity() {
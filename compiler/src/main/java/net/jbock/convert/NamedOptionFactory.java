@@ -56,6 +56,9 @@ public class NamedOptionFactory {
         .map(this::createNamedOption)
         .flatMap(namedOption -> {
           if (!converterClass.isPresent() && sourceMethod.returnType().getKind() == BOOLEAN) {
+            if (namedOption.cacheSize() != 0) {
+              return left("cacheSize is not allowed on a mode flag");
+            }
             return right(createFlag(namedOption));
           }
           return converterFinder.findConverter(namedOption);
@@ -1,5 +1,6 @@
 package net.jbock.convert.matcher;
 
+import net.jbock.common.SafeElements;
 import net.jbock.common.TypeTool;
 import net.jbock.convert.ParameterScope;
 import net.jbock.convert.matching.Match;
@@ -8,6 +9,8 @@ import net.jbock.parameter.AbstractItem;
 import net.jbock.parameter.SourceMethod;
 
 import javax.inject.Inject;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import java.util.List;
 import java.util.Optional;
@@ -17,19 +20,39 @@ public class ListMatcher implements Matcher {
 
   private final SourceMethod sourceMethod;
   private final TypeTool tool;
+  private final SafeElements elements;
 
   @Inject
   ListMatcher(
       SourceMethod sourceMethod,
-      TypeTool tool) {
+      TypeTool tool,
+      SafeElements elements) {
     this.sourceMethod = sourceMethod;
     this.tool = tool;
+    this.elements = elements;
   }
 
   @Override
   public Optional<Match> tryMatch(AbstractItem parameter) {
     TypeMirror returnType = sourceMethod.returnType();
-    return tool.getSingleTypeArgument(returnType, List.class)
-        .map(typeArg -> Match.create(typeArg, Multiplicity.REPEATABLE));
+    return getPrimitiveArray(returnType)
+        .or(() ->
+            tool.getSingleTypeArgument(returnType, List.class)
+                .map(typeArg -> Match.create(typeArg, Multiplicity.REPEATABLE)));
+  }
+
+  private Optional<Match> getPrimitiveArray(TypeMirror type) {
+    if (type.getKind() != TypeKind.ARRAY) {
+      return Optional.empty();
+    }
+    TypeKind componentKind = ((ArrayType) type).getComponentType().getKind();
+    for (PrimitiveArray primitiveArray : PrimitiveArray.values()) {
+      if (componentKind == primitiveArray.componentKind()) {
+        String wrapped = primitiveArray.wrappedObjectType();
+        return elements.getTypeElement(wrapped)
+            .map(el -> Match.create(el.asType(), Multiplicity.REPEATABLE));
+      }
+    }
+    return Optional.empty();
   }
 }
@@ -45,8 +45,7 @@ public class OptionalMatcher implements Matcher {
         return elements.getTypeElement(wrapped)
             .flatMap(el -> {
               TypeMirror baseType = el.asType();
-              return Optional.of(Match.create(baseType,
-                  Multiplicity.OPTIONAL, optionalPrimitive.extractExpr()));
+              return Optional.of(Match.create(baseType, Multiplicity.OPTIONAL));
             });
       }
     }
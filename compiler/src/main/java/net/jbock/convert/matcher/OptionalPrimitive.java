@@ -1,7 +1,5 @@
 package net.jbock.convert.matcher;
 
-import com.squareup.javapoet.CodeBlock;
-
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
@@ -20,10 +18,6 @@ enum OptionalPrimitive {
     this.wrappedObjectType = wrappedObjectType.getCanonicalName();
   }
 
-  CodeBlock extractExpr() {
-    return CodeBlock.of(".map($1T::of).orElse($1T.empty())", type);
-  }
-
   public String type() {
     return type.getCanonicalName();
   }
@@ -0,0 +1,26 @@
+package net.jbock.convert.matcher;
+
+import javax.lang.model.type.TypeKind;
+
+enum PrimitiveArray {
+
+  INT(TypeKind.INT, Integer.class),
+  LONG(TypeKind.LONG, Long.class),
+  DOUBLE(TypeKind.DOUBLE, Double.class);
+
+  private final TypeKind componentKind;
+  private final String wrappedObjectType;
+
+  PrimitiveArray(TypeKind componentKind, Class<? extends Number> wrappedObjectType) {
+    this.componentKind = componentKind;
+    this.wrappedObjectType = wrappedObjectType.getCanonicalName();
+  }
+
+  TypeKind componentKind() {
+    return componentKind;
+  }
+
+  String wrappedObjectType() {
+    return wrappedObjectType;
+  }
+}
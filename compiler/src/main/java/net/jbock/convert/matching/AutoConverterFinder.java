@@ -62,7 +62,7 @@ public class AutoConverterFinder extends MatchValidator {
   private <P extends AbstractItem> Either<String, Mapped<P>> findConverter(Match match, P parameter) {
     return autoConverter.findAutoConverter(match.baseType())
         .flatMapLeft(this::enumConverter)
-        .map(mapExpr -> match.toConvertedParameter(mapExpr, parameter));
+        .map(converterExpr -> match.toAutoConvertedParameter(converterExpr, parameter));
   }
 
   private Either<String, CodeBlock> enumConverter(TypeMirror baseType) {
@@ -74,7 +74,7 @@ public class AutoConverterFinder extends MatchValidator {
     ParameterSpec values = ParameterSpec.builder(STRING, "values").build();
     ParameterSpec message = ParameterSpec.builder(STRING, "message").build();
     return Either.right(CodeBlock.builder()
-        .add(".map($T.create(", StringConverter.class)
+        .add("$T.create(", StringConverter.class)
         .add("$N -> {\n", s).indent()
         .add("try {\n").indent()
         .add("return $T.valueOf($N);\n", baseType, s)
@@ -87,7 +87,7 @@ public class AutoConverterFinder extends MatchValidator {
         .add("$T $N = $N.getMessage() + $S + $N;\n", STRING, message, e, " ", values)
         .add("throw new $T($N);\n", IllegalArgumentException.class, message)
         .unindent().add("}\n")
-        .unindent().add("}))").build());
+        .unindent().add("})").build());
   }
 
   private boolean isEnumType(TypeMirror type) {
@@ -78,11 +78,8 @@ public class ConverterValidator extends MatchValidator {
       if (match.isPresent()) {
         Match m = match.get();
         return Either.unbalancedLeft(validateMatch(m))
-            .orElseRight(() -> CodeBlock.builder()
-                .add(".map(")
-                .add(getMapExpr(functionType, converter))
-                .add(")").build())
-            .map(mapExpr -> m.toConvertedParameter(mapExpr, parameter));
+            .orElseRight(() -> getConverterExpr(functionType, converter))
+            .map(converterExpr -> m.toConvertedParameter(converterExpr, isStateful(converter), parameter));
       }
     }
     TypeMirror typeForErrorMessage = matches.stream()
@@ -103,6 +100,11 @@ public class ConverterValidator extends MatchValidator {
     return Optional.empty();
   }
 
+  private static boolean isStateful(TypeElement converter) {
+    Converter converterAnnotation = converter.getAnnotation(Converter.class);
+    return converterAnnotation != null && converterAnnotation.stateful();
+  }
+
   private Optional<String> checkNotAbstract(TypeElement converter) {
     if (converter.getModifiers().contains(ABSTRACT)) {
       return Optional.of("converter class may not be abstract");
@@ -117,7 +119,7 @@ public class ConverterValidator extends MatchValidator {
     return Optional.empty();
   }
 
-  private CodeBlock getMapExpr(StringConverterType functionType, TypeElement converter) {
+  private CodeBlock getConverterExpr(StringConverterType functionType, TypeElement converter) {
     if (functionType.isSupplier()) {
       return CodeBlock.of("new $T().get()", converter.asType());
     }
@@ -43,6 +43,10 @@ public abstract class AbstractItem {
     return sourceMethod.descriptionKey();
   }
 
+  public final int cacheSize() {
+    return sourceMethod.cacheSize();
+  }
+
   public final List<Modifier> getAccessModifiers() {
     return sourceMethod.accessModifiers();
   }
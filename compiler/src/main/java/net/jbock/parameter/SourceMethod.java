@@ -73,6 +73,10 @@ public class SourceMethod {
     return parameterStyle.paramLabel(sourceMethod);
   }
 
+  public int cacheSize() {
+    return parameterStyle.cacheSize(sourceMethod);
+  }
+
   public List<Modifier> accessModifiers() {
     return accessModifiers;
   }
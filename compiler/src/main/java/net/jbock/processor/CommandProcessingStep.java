@@ -5,6 +5,8 @@ import com.google.common.collect.ImmutableSetMultimap;
 import net.jbock.Command;
 import net.jbock.common.Annotations;
 import net.jbock.common.OperationMode;
+import net.jbock.common.ProcessingStatistics;
+import net.jbock.common.ProcessingStatistics.Phase;
 import net.jbock.common.SafeElements;
 import net.jbock.common.TypeTool;
 import net.jbock.common.Util;
@@ -40,6 +42,7 @@ public class CommandProcessingStep implements BasicAnnotationProcessor.Step {
   private final Types types;
   private final SafeElements elements;
   private final SourceFileGenerator sourceFileGenerator;
+  private final ProcessingStatistics statistics;
 
   @Inject
   CommandProcessingStep(
@@ -50,7 +53,8 @@ public class CommandProcessingStep implements BasicAnnotationProcessor.Step {
       OperationMode operationMode,
       Types types,
       SafeElements elements,
-      SourceFileGenerator sourceFileGenerator) {
+      SourceFileGenerator sourceFileGenerator,
+      ProcessingStatistics statistics) {
     this.tool = tool;
     this.messager = messager;
     this.util = util;
@@ -59,6 +63,7 @@ public class CommandProcessingStep implements BasicAnnotationProcessor.Step {
     this.types = types;
     this.elements = elements;
     this.sourceFileGenerator = sourceFileGenerator;
+    this.statistics = statistics;
   }
 
   @Override
@@ -86,22 +91,29 @@ public class CommandProcessingStep implements BasicAnnotationProcessor.Step {
         .filer(filer)
         .messager(messager)
         .operationMode(operationMode)
+        .statistics(statistics)
         .module(new ValidateModule(types, elements))
         .create();
     component.processor().generate()
-        .accept(this::printFailures, type ->
-            sourceFileGenerator.write(sourceElement, type));
+        .accept(this::printFailures, type -> {
+          long start = statistics.start();
+          sourceFileGenerator.write(sourceElement, type);
+          statistics.stop(Phase.WRITE, start);
+        });
   }
 
   private Either<List<ValidationFailure>, SourceElement> validateSourceElement(
       TypeElement element) {
+    long start = statistics.start();
     Optional<List<ValidationFailure>> failureList = util.commonTypeChecks(element)
         .or(() -> util.assertNoDuplicateAnnotations(element,
             Annotations.typeLevelAnnotations()))
         .map(s -> new ValidationFailure(s, element))
         .map(List::of);
-    return Either.unbalancedLeft(failureList)
+    Either<List<ValidationFailure>, SourceElement> result = Either.unbalancedLeft(failureList)
         .orElseRight(() -> SourceElement.create(element));
+    statistics.stop(Phase.VALIDATE, start);
+    return result;
   }
 
   private void printFailures(List<ValidationFailure> failures) {
@@ -2,16 +2,22 @@ package net.jbock.processor;
 
 import com.google.auto.common.BasicAnnotationProcessor;
 import net.jbock.common.OperationMode;
+import net.jbock.common.ProcessingStatistics;
 
+import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import java.util.List;
+import java.util.Set;
 
+import static javax.tools.Diagnostic.Kind.NOTE;
 import static net.jbock.common.OperationMode.PRODUCTION;
 
 public final class JbockProcessor extends BasicAnnotationProcessor {
 
   private final OperationMode operationMode;
 
+  private ProcessingStatistics statistics;
+
   public JbockProcessor() {
     this.operationMode = PRODUCTION;
   }
@@ -23,15 +29,32 @@ public final class JbockProcessor extends BasicAnnotationProcessor {
 
   @Override
   protected Iterable<? extends Step> steps() {
+    statistics = new ProcessingStatistics(processingEnv.getOptions().containsKey(ProcessingStatistics.OPTION));
     ProcessorComponent component = DaggerProcessorComponent.builder()
         .processingEnv(processingEnv)
         .operationMode(operationMode)
+        .statistics(statistics)
         .build();
     return List.of(component.commandProcessingStep(),
         component.converterProcessingStep(),
         component.parameterMethodProcessingStep());
   }
 
+  @Override
+  protected void postRound(RoundEnvironment roundEnv) {
+    if (!roundEnv.processingOver() || !statistics.isEnabled()) {
+      return;
+    }
+    for (String line : statistics.report()) {
+      processingEnv.getMessager().printMessage(NOTE, line);
+    }
+  }
+
+  @Override
+  public Set<String> getSupportedOptions() {
+    return Set.of(ProcessingStatistics.OPTION);
+  }
+
   @Override
   public SourceVersion getSupportedSourceVersion() {
     return SourceVersion.latestSupported();
@@ -3,6 +3,7 @@ package net.jbock.processor;
 import dagger.BindsInstance;
 import dagger.Component;
 import net.jbock.common.OperationMode;
+import net.jbock.common.ProcessingStatistics;
 
 import javax.annotation.processing.ProcessingEnvironment;
 
@@ -25,6 +26,9 @@ interface ProcessorComponent {
     @BindsInstance
     Builder operationMode(OperationMode mode);
 
+    @BindsInstance
+    Builder statistics(ProcessingStatistics statistics);
+
     ProcessorComponent build();
   }
 }
@@ -1,10 +1,13 @@
 package net.jbock.validate;
 
 import com.squareup.javapoet.TypeSpec;
+import net.jbock.common.ProcessingStatistics;
+import net.jbock.common.ProcessingStatistics.Phase;
 import net.jbock.common.SafeElements;
 import net.jbock.common.TypeTool;
 import net.jbock.common.Util;
 import net.jbock.common.ValidationFailure;
+import net.jbock.context.ContextComponent;
 import net.jbock.context.ContextModule;
 import net.jbock.context.DaggerContextComponent;
 import net.jbock.convert.ConvertModule;
@@ -33,6 +36,7 @@ public class CommandProcessor {
   private final ParamsFactory paramsFactory;
   private final MethodsFactory methodsFactory;
   private final Util util;
+  private final ProcessingStatistics statistics;
 
   @Inject
   CommandProcessor(
@@ -42,7 +46,8 @@ public class CommandProcessor {
       Types types,
       ParamsFactory paramsFactory,
       MethodsFactory methodsFactory,
-      Util util) {
+      Util util,
+      ProcessingStatistics statistics) {
     this.sourceElement = sourceElement;
     this.elements = elements;
     this.tool = tool;
@@ -50,15 +55,26 @@ public class CommandProcessor {
     this.paramsFactory = paramsFactory;
     this.methodsFactory = methodsFactory;
     this.util = util;
+    this.statistics = statistics;
   }
 
   public Either<List<ValidationFailure>, TypeSpec> generate() {
-    return methodsFactory.findAbstractMethods()
+    long start = statistics.start();
+    Either<List<ValidationFailure>, AbstractMethods> abstractMethods = methodsFactory.findAbstractMethods();
+    statistics.stop(Phase.VALIDATE, start);
+    return abstractMethods
         .flatMap(this::createPositionalParams)
         .flatMap(this::createNamedOptions)
         .map(this::contextModule)
         .map(module -> DaggerContextComponent.factory().create(module))
-        .map(component -> component.generatedClass().define());
+        .map(this::define);
+  }
+
+  private TypeSpec define(ContextComponent component) {
+    long start = statistics.start();
+    TypeSpec result = component.generatedClass().define();
+    statistics.stop(Phase.DEFINE, start);
+    return result;
   }
 
   private Either<List<ValidationFailure>, Items> createNamedOptions(
@@ -66,6 +82,7 @@ public class CommandProcessor {
     List<ValidationFailure> failures = new ArrayList<>();
     List<Mapped<NamedOption>> namedOptions = new ArrayList<>(intermediateResult.options().size());
     for (SourceMethod sourceMethod : intermediateResult.options()) {
+      long start = statistics.start();
       DaggerConvertComponent.builder()
           .module(parameterModule())
           .sourceMethod(sourceMethod)
@@ -75,6 +92,7 @@ public class CommandProcessor {
           .namedOptionFactory()
           .createNamedOption()
           .accept(failures::add, namedOptions::add);
+      statistics.stop(Phase.CONVERT, start);
     }
     if (!failures.isEmpty()) {
       return left(failures);
@@ -86,6 +104,7 @@ public class CommandProcessor {
     List<Mapped<PositionalParameter>> positionalParams = new ArrayList<>(methods.positionalParameters().size());
     List<ValidationFailure> failures = new ArrayList<>();
     for (SourceMethod sourceMethod : methods.positionalParameters()) {
+      long start = statistics.start();
       DaggerConvertComponent.builder()
           .module(parameterModule())
           .sourceMethod(sourceMethod)
@@ -95,6 +114,7 @@ public class CommandProcessor {
           .positionalParameterFactory()
           .createPositionalParam(sourceMethod.index().orElse(methods.positionalParameters().size() - 1))
           .accept(failures::add, positionalParams::add);
+      statistics.stop(Phase.CONVERT, start);
     }
     if (!failures.isEmpty()) {
       return left(failures);
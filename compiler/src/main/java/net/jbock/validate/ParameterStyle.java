@@ -25,6 +25,11 @@ public enum ParameterStyle {
       return Descriptions.optionalString(get(method).paramLabel());
     }
 
+    @Override
+    public int cacheSize(ExecutableElement method) {
+      return get(method).cacheSize();
+    }
+
     @Override
     public boolean isPositional() {
       return false;
@@ -60,6 +65,11 @@ public enum ParameterStyle {
       return Descriptions.optionalString(get(method).paramLabel());
     }
 
+    @Override
+    public int cacheSize(ExecutableElement method) {
+      return get(method).cacheSize();
+    }
+
     @Override
     public boolean isPositional() {
       return true;
@@ -95,6 +105,11 @@ public enum ParameterStyle {
       return Descriptions.optionalString(get(method).paramLabel());
     }
 
+    @Override
+    public int cacheSize(ExecutableElement method) {
+      return get(method).cacheSize();
+    }
+
     @Override
     public boolean isPositional() {
       return true;
@@ -140,6 +155,8 @@ public enum ParameterStyle {
 
   public abstract Optional<String> paramLabel(ExecutableElement method);
 
+  public abstract int cacheSize(ExecutableElement method);
+
   public abstract boolean isPositional();
 
   public abstract OptionalInt index(ExecutableElement method);
@@ -3,6 +3,7 @@ package net.jbock.validate;
 import dagger.BindsInstance;
 import dagger.Component;
 import net.jbock.common.OperationMode;
+import net.jbock.common.ProcessingStatistics;
 import net.jbock.common.TypeTool;
 import net.jbock.common.Util;
 import net.jbock.processor.SourceElement;
@@ -37,6 +38,9 @@ public interface ValidateComponent {
     @BindsInstance
     Builder operationMode(OperationMode operationMode);
 
+    @BindsInstance
+    Builder statistics(ProcessingStatistics statistics);
+
     Builder module(ValidateModule module);
 
     ValidateComponent create();
@@ -630,4 +630,56 @@ class ConverterTest {
         .processedWith(Processor.testInstance())
         .compilesWithoutError();
   }
+
+  @Test
+  void negativeCacheSize() {
+    JavaFileObject javaFile = fromSource(
+        "@Command",
+        "abstract class Arguments {",
+        "",
+        "  @Option(names = \"--x\", cacheSize = -1)",
+        "  abstract String foo();",
+        "",
+        "}");
+    assertAbout(javaSources()).that(singletonList(javaFile))
+        .processedWith(Processor.testInstance())
+        .failsToCompile()
+        .withErrorContaining("cacheSize must not be negative");
+  }
+
+  @Test
+  void cacheSizeOnModeFlag() {
+    JavaFileObject javaFile = fromSource(
+        "@Command",
+        "abstract class Arguments {",
+        "",
+        "  @Option(names = \"--x\", cacheSize = 10)",
+        "  abstract boolean foo();",
+        "",
+        "}");
+    assertAbout(javaSources()).that(singletonList(javaFile))
+        .processedWith(Processor.testInstance())
+        .failsToCompile()
+        .withErrorContaining("cacheSize is not allowed on a mode flag");
+  }
+
+  @Test
+  void cacheSizeWithStatefulConverter() {
+    JavaFileObject javaFile = fromSource(
+        "@Command",
+        "abstract class Arguments {",
+        "",
+        "  @Parameters(converter = MapMap.class, cacheSize = 10)",
+        "  abstract List<String> foo();",
+        "",
+        "  @Converter(stateful = true)",
+        "  static class MapMap extends StringConverter<String> {",
+        "    public String convert(String token) { return token; }",
+        "  }",
+        "}");
+    assertAbout(javaSources()).that(singletonList(javaFile))
+        .processedWith(Processor.testInstance())
+        .failsToCompile()
+        .withErrorContaining("cacheSize is not allowed with a stateful converter");
+  }
 }
@@ -0,0 +1,172 @@
+package net.jbock.processor;
+
+import com.google.testing.compile.Compilation;
+import net.jbock.either.Either;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.spi.ToolProvider;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static com.google.testing.compile.JavaFileObjects.forSourceLines;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A command with thousands of options must compile,
+ * and the methods of the generated parser must stay small enough
+ * to be compiled by the JIT.
+ */
+class ManyOptionsTest {
+
+  private static final int NUM_OPTIONS = 2000;
+
+  // -XX:HugeMethodLimit
+  private static final int HUGE_METHOD_LIMIT = 8000;
+
+  private static final String[] OPTION_TYPES = {
+      "Optional<String>",
+      "List<String>",
+      "boolean",
+      "Optional<Integer>",
+  };
+
+  private static final Pattern CLASS = Pattern.compile("^(?!\\s)(.* )?class ([^\\s<]+).*\\{$");
+  private static final Pattern METHOD = Pattern.compile("^  (?!static \\{\\})\\S.*\\(.*\\).*;$");
+  private static final Pattern INSTRUCTION = Pattern.compile("^ +(\\d+): .*$");
+
+  @TempDir
+  Path classes;
+
+  @Test
+  void manyOptions() throws Exception {
+    List<String> lines = new ArrayList<>(ProcessorTest.withImports(
+        "@Command",
+        "abstract class Arguments {"));
+    for (int i = 0; i < NUM_OPTIONS; i++) {
+      lines.add("  @Option(names = \"--option" + i + "\")");
+      lines.add("  abstract " + OPTION_TYPES[i % OPTION_TYPES.length] + " option" + i + "();");
+    }
+    lines.add("  @Parameters");
+    lines.add("  abstract List<String> rest();");
+    lines.add("}");
+    Compilation compilation = javac()
+        .withProcessors(new JbockProcessor())
+        .compile(forSourceLines("test.Arguments", lines));
+    assertThat(compilation).succeeded();
+    writeClassFiles(compilation);
+
+    Map<String, Integer> codeLengths = codeLengths();
+    assertTrue(codeLengths.containsKey("test.ArgumentsParser$StatefulParser.read"));
+    codeLengths.forEach((method, length) ->
+        assertTrue(length < HUGE_METHOD_LIMIT, method + ": " + length + " bytes"));
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+      Class<?> parserClass = loader.loadClass("test.ArgumentsParser");
+      Object parser = newInstance(parserClass);
+      Method parse = parserClass.getDeclaredMethod("parse", String[].class);
+      parse.setAccessible(true);
+      String[] args = {"--option0=a", "--option1", "b", "--option1=c", "--option2", "--option1999", "17", "x"};
+      Object arguments = ((Either<?, ?>) parse.invoke(parser, (Object) args)).getRight().orElseThrow();
+      assertEquals(Optional.of("a"), invoke(arguments, "option0"));
+      assertEquals(List.of("b", "c"), invoke(arguments, "option1"));
+      assertEquals(true, invoke(arguments, "option2"));
+      assertEquals(false, invoke(arguments, "option1998"));
+      assertEquals(Optional.of(17), invoke(arguments, "option1999"));
+      assertEquals(List.of("x"), invoke(arguments, "rest"));
+      Either<?, ?> repetition = (Either<?, ?>) parse.invoke(parser, (Object) new String[]{"--option1999=1", "--option1999=2"});
+      assertTrue(repetition.getLeft().isPresent());
+
+      Method reusable = parserClass.getDeclaredMethod("reusable");
+      reusable.setAccessible(true);
+      @SuppressWarnings("unchecked")
+      Function<String[], Either<?, ?>> parseFunction = (Function<String[], Either<?, ?>>) reusable.invoke(parser);
+      parseFunction.apply(args);
+      Object reused = parseFunction.apply(new String[0]).getRight().orElseThrow();
+      assertEquals(Optional.empty(), invoke(reused, "option0"));
+      assertEquals(List.of(), invoke(reused, "option1"));
+      assertEquals(false, invoke(reused, "option2"));
+    }
+  }
+
+  private void writeClassFiles(Compilation compilation) throws IOException {
+    for (JavaFileObject file : compilation.generatedFiles()) {
+      if (file.getKind() != JavaFileObject.Kind.CLASS) {
+        continue;
+      }
+      Path path = classes.resolve(file.toUri().getPath().replaceFirst("^/CLASS_OUTPUT/", ""));
+      Files.createDirectories(path.getParent());
+      try (InputStream in = file.openInputStream()) {
+        Files.copy(in, path);
+      }
+    }
+  }
+
+  /* Bytecode size of each method, except static initializers
+   * and the enum's $values method, which run only once.
+   */
+  private Map<String, Integer> codeLengths() throws IOException {
+    List<String> args = new ArrayList<>(List.of("-c", "-p"));
+    try (var files = Files.walk(classes)) {
+      files.filter(f -> f.toString().endsWith(".class"))
+          .map(Path::toString)
+          .forEach(args::add);
+    }
+    StringWriter out = new StringWriter();
+    int status = ToolProvider.findFirst("javap").orElseThrow()
+        .run(new PrintWriter(out), new PrintWriter(System.err), args.toArray(new String[0]));
+    assertEquals(0, status);
+    Map<String, Integer> result = new HashMap<>();
+    String className = null;
+    String method = null;
+    for (String line : out.toString().split("\\R")) {
+      Matcher classMatcher = CLASS.matcher(line);
+      if (classMatcher.matches()) {
+        className = classMatcher.group(2);
+        method = null;
+      } else if (METHOD.matcher(line).matches()) {
+        String methodName = line.replaceFirst("^.*?(\\S+)\\(.*$", "$1");
+        method = methodName.equals("$values") ? null : className + "." + methodName;
+      } else if (line.startsWith("  static {}")) {
+        method = null;
+      } else if (method != null) {
+        Matcher m = INSTRUCTION.matcher(line);
+        if (m.matches()) {
+          result.merge(method, Integer.parseInt(m.group(1)), Math::max);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Object newInstance(Class<?> parserClass) throws Exception {
+    var constructor = parserClass.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return constructor.newInstance();
+  }
+
+  private static Object invoke(Object arguments, String methodName) throws Exception {
+    Method method = arguments.getClass().getSuperclass().getDeclaredMethod(methodName);
+    method.setAccessible(true);
+    return method.invoke(arguments);
+  }
+}
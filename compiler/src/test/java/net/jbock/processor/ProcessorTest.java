@@ -281,10 +281,24 @@ class ProcessorTest {
         "  @Option(names = \"--x\")",
         "  abstract int[] a();",
         "}");
+    assertAbout(javaSources()).that(singletonList(javaFile))
+        .processedWith(Processor.testInstance())
+        .compilesWithoutError();
+  }
+
+  @Test
+  void charArray() {
+    JavaFileObject javaFile = fromSource(
+        "@Command",
+        "abstract class Arguments {",
+        "",
+        "  @Option(names = \"--x\")",
+        "  abstract char[] a();",
+        "}");
     assertAbout(javaSources()).that(singletonList(javaFile))
         .processedWith(Processor.testInstance())
         .failsToCompile()
-        .withErrorContaining("define a converter that implements Function<String, int[]>");
+        .withErrorContaining("define a converter that implements Function<String, char[]>");
   }
 
   @Test
@@ -660,6 +674,28 @@ class ProcessorTest {
         .withErrorContaining("class cannot be private");
   }
 
+  @Test
+  void statistics() {
+    JavaFileObject javaFile = fromSource(
+        "@Command",
+        "abstract class Arguments {",
+        "",
+        "  @Option(names = \"--x\")",
+        "  abstract Optional<Integer> x();",
+        "",
+        "  @Parameters",
+        "  abstract List<String> rest();",
+        "}");
+    assertAbout(javaSources()).that(singletonList(javaFile))
+        .withCompilerOptions("-Ajbock.statistics")
+        .processedWith(Processor.testInstance())
+        .compilesWithoutError()
+        .withNoteContaining("jbock.statistics validate calls=2").and()
+        .withNoteContaining("jbock.statistics convert calls=2").and()
+        .withNoteContaining("jbock.statistics define calls=1").and()
+        .withNoteContaining("jbock.statistics write calls=1");
+  }
+
   static JavaFileObject fromSource(String... lines) {
     List<String> sourceLines = withImports(lines);
     return forSourceLines("test.Arguments", sourceLines);
@@ -73,11 +73,14 @@ public @interface Command {
 
   /**
    * <p>Enables or disables the so-called {@code @file} (read: &quot;at-file&quot;) expansion.
-   * If the first token in the input array starts with an {@code @} character,
-   * <em>and</em> this is also the only token in the input array,
-   * then this token is interpreted as the name of an options-file,
+   * Each token in the input array that starts with an {@code @} character,
+   * and is longer than one character,
+   * is interpreted as the name of an options-file,
    * containing lines of {@code UTF-8} encoded tokens.
+   * The token is replaced by the tokens in the file.
    * Trailing empty lines are ignored.
+   * The tokens in the file may refer to other options-files,
+   * but a file must not include itself.
    * <p>The following escape sequences are recognized:</p>
    *
    * <br/>
@@ -93,10 +96,11 @@ public @interface Command {
    * <p>An unpaired backslash at the end of a line prevents
    * the newline from being read.</p>
    * <p>Note: Even if set to {@code true},
-   * and the user wants to pass exactly one positional parameter
+   * and the user wants to pass a positional parameter
    * that starts with an {@code @} character,
    * they can still prevent the {@code @file} expansion,
-   * by passing {@code --} as the first token.</p>
+   * by passing {@code --} before this parameter.
+   * No tokens after the first {@code --} are expanded.</p>
    *
    * @return {@code false} to disable the {@code @file} expansion
    */
@@ -25,9 +25,25 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
  *   <li>The return type of the referencing method is one of the types {@code [OptionalInt, OptionalLong, OptionalDouble]},
  *   and {@code M} is the corresponding boxed primitive.</li>
  *   <li>The return type of the referencing method is {@code List<M>}.</li>
+ *   <li>The return type of the referencing method is one of the types {@code [int[], long[], double[]]},
+ *   and {@code M} is the corresponding boxed primitive.</li>
  * </ul>
+ *
+ * <p>By default, the converter is instantiated only once,
+ * when it is first needed, and then shared by all parsing operations.
+ * Such a converter must be stateless and thread-safe.</p>
  */
 @Target(TYPE)
 @Retention(SOURCE)
 public @interface Converter {
+
+  /**
+   * Set this to {@code true} if the converter is not thread-safe,
+   * or holds state that must not be shared between parsing operations.
+   * A stateful converter is instantiated once per parsing operation.
+   *
+   * @return {@code true} to create a new converter instance
+   *         for each parsing operation
+   */
+  boolean stateful() default false;
 }
@@ -37,6 +37,21 @@ public @interface Option {
    */
   Class<?> converter() default Void.class;
 
+  /**
+   * <p>The maximum number of converted values to remember.
+   * If positive, the converter is invoked only once per distinct token,
+   * until the token is evicted from the cache.
+   * This can be useful in a long-running process,
+   * if the conversion is expensive.</p>
+   * <p>The cache is shared between all parsing operations,
+   * so the converted values should be immutable.
+   * Use the generated method {@code converterCaches()}
+   * to get the hit and miss counts.</p>
+   *
+   * @return cache size, or {@code 0} to disable caching
+   */
+  int cacheSize() default 0;
+
   /**
    * The key that is used to find the option
    * description in the internationalization message map.
@@ -45,7 +45,7 @@ public final class StandardErrorHandler {
     private final NotSuccess notSuccess;
 
     private PrintStream out = System.err;
-    private int terminalWidth = 80;
+    private int terminalWidth = UsageDocumentation.DEFAULT_TERMINAL_WIDTH;
     private Map<String, String> messages = Collections.emptyMap();
     private Supplier<RuntimeException> exitHook;
 
@@ -144,7 +144,9 @@ public final class StandardErrorHandler {
    *
    * <p>This method also does standard error handling like printing of
    *    error messages, or printing standard usage documentation for
-   *    the provided {@link CommandModel}.</p>
+   *    the provided {@link CommandModel}.
+   *    The output is assembled in memory first, and then written
+   *    to the output stream with a single call.</p>
    *
    * @return a runtime exception
    */
@@ -152,27 +154,25 @@ public final class StandardErrorHandler {
     CommandModel model = notSuccess.commandModel();
     AnsiStyle ansi = AnsiStyle.create(model);
     if (notSuccess instanceof HelpRequested) {
-      UsageDocumentation.builder(model)
-          .withOutputStream(out)
-          .withMessages(messages)
-          .withTerminalWidth(terminalWidth)
-          .build().printUsageDocumentation();
+      out.print(UsageCache.usageText(model, terminalWidth, messages));
       out.flush();
       return exitHook.get();
     }
-    out.println(ansi.red("ERROR:") + ' ' + ((HasMessage) notSuccess).message());
+    String nl = System.lineSeparator();
+    StringBuilder sb = new StringBuilder();
+    sb.append(ansi.red("ERROR:")).append(' ').append(((HasMessage) notSuccess).message()).append(nl);
     if (model.helpEnabled()) {
       List<String> synopsis = Synopsis.create(model)
           .createSynopsis("Usage:");
-      out.println(String.join(" ", synopsis));
+      sb.append(String.join(" ", synopsis)).append(nl);
       String helpCommand = model.programName() + " --help";
-      out.println("Type " +
-          ansi.bold(helpCommand).orElseGet(() -> "'" + helpCommand + "'") +
-          " for more information.");
+      sb.append("Type ")
+          .append(ansi.bold(helpCommand).orElseGet(() -> "'" + helpCommand + "'"))
+          .append(" for more information.").append(nl);
     } else {
-      UsageDocumentation.builder(model)
-          .build().printUsageDocumentation();
+      sb.append(UsageCache.usageText(model, terminalWidth, messages));
     }
+    out.print(sb);
     out.flush();
     return exitHook.get();
   }
@@ -0,0 +1,104 @@
+package net.jbock.contrib;
+
+import net.jbock.model.CommandModel;
+import net.jbock.util.ParseListener;
+import net.jbock.util.ParseListeners;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded cache of rendered usage documentation.
+ * The keys compare the command model and the message map by identity,
+ * so that a lookup never has to inspect their contents.
+ */
+final class UsageCache {
+
+  static final int MAX_ENTRIES = 16;
+
+  private static final Map<Key, String> CACHE = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  private UsageCache() {
+  }
+
+  static String usageText(
+      CommandModel model,
+      int terminalWidth,
+      Map<String, String> messages) {
+    Key key = new Key(model, terminalWidth, model.ansi(), messages);
+    synchronized (CACHE) {
+      String cached = CACHE.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    ParseListener listener = ParseListeners.current();
+    long start = listener != null ? System.nanoTime() : 0L;
+    String usageText = UsageDocumentation.builder(model)
+        .withTerminalWidth(terminalWidth)
+        .withMessages(messages)
+        .build()
+        .usageText();
+    if (listener != null) {
+      listener.usageRendered(model, System.nanoTime() - start);
+    }
+    synchronized (CACHE) {
+      String previous = CACHE.putIfAbsent(key, usageText);
+      return previous != null ? previous : usageText;
+    }
+  }
+
+  static int size() {
+    synchronized (CACHE) {
+      return CACHE.size();
+    }
+  }
+
+  private static final class Key {
+
+    private final CommandModel model;
+    private final int terminalWidth;
+    private final boolean ansi;
+    private final Map<String, String> messages;
+
+    Key(CommandModel model,
+        int terminalWidth,
+        boolean ansi,
+        Map<String, String> messages) {
+      this.model = model;
+      this.terminalWidth = terminalWidth;
+      this.ansi = ansi;
+      this.messages = messages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return model == key.model
+          && terminalWidth == key.terminalWidth
+          && ansi == key.ansi
+          && messages == key.messages;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          System.identityHashCode(model),
+          terminalWidth,
+          ansi,
+          System.identityHashCode(messages));
+    }
+  }
+}
@@ -5,7 +5,6 @@ import net.jbock.model.Item;
 import net.jbock.model.Option;
 import net.jbock.model.Parameter;
 
-import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,9 +15,11 @@ import java.util.stream.Collectors;
 
 final class UsageDocumentation {
 
+  // The annotation processor pre-renders the usage documentation for this width.
+  static final int DEFAULT_TERMINAL_WIDTH = 80;
+
   private static final int CONTINUATION_INDENT_USAGE = 8;
 
-  private final PrintStream out;
   private final int terminalWidth;
   private final Map<String, String> messages;
   private final String descriptionKey;
@@ -29,9 +30,9 @@ final class UsageDocumentation {
   private final AnsiStyle ansiStyle;
   private final int maxWidthOptions;
   private final int maxWidthParameters;
+  private final List<String> prerenderedUsage;
 
   private UsageDocumentation(
-      PrintStream out,
       int terminalWidth,
       Map<String, String> messages,
       String descriptionKey,
@@ -41,10 +42,10 @@ final class UsageDocumentation {
       Synopsis synopsis,
       AnsiStyle ansiStyle,
       int maxWidthOptions,
-      int maxWidthParameters) {
+      int maxWidthParameters,
+      List<String> prerenderedUsage) {
     this.descriptionKey = descriptionKey;
     this.descriptionLines = descriptionLines;
-    this.out = out;
     this.terminalWidth = terminalWidth;
     this.messages = messages;
     this.options = options;
@@ -53,6 +54,7 @@ final class UsageDocumentation {
     this.ansiStyle = ansiStyle;
     this.maxWidthOptions = maxWidthOptions;
     this.maxWidthParameters = maxWidthParameters;
+    this.prerenderedUsage = prerenderedUsage;
   }
 
   static Builder builder(CommandModel context) {
@@ -63,8 +65,7 @@ final class UsageDocumentation {
 
     private final CommandModel model;
 
-    private PrintStream out = System.err;
-    private int terminalWidth = 80;
+    private int terminalWidth = DEFAULT_TERMINAL_WIDTH;
     private Map<String, String> messages = Collections.emptyMap();
 
     private Builder(CommandModel model) {
@@ -81,14 +82,9 @@ final class UsageDocumentation {
       return this;
     }
 
-    Builder withOutputStream(PrintStream out) {
-      this.out = out;
-      return this;
-    }
-
     UsageDocumentation build() {
       return new UsageDocumentation(
-          out, terminalWidth, messages,
+          terminalWidth, messages,
           model.descriptionKey(),
           model.descriptionLines(),
           model.options(),
@@ -96,7 +92,16 @@ final class UsageDocumentation {
           Synopsis.create(model),
           AnsiStyle.create(model),
           maxWidth(model.options()),
-          maxWidth(model.parameters()));
+          maxWidth(model.parameters()),
+          usePrerenderedUsage() ? model.prerenderedUsage() : List.of());
+    }
+
+    /* The pre-rendered lines are only valid if they were created
+     * by the same version of the renderer.
+     */
+    private boolean usePrerenderedUsage() {
+      return terminalWidth == DEFAULT_TERMINAL_WIDTH
+          && model.usageRendererVersion() == UsagePrerenderer.version();
     }
 
     private int maxWidth(List<? extends Item> items) {
@@ -108,7 +113,17 @@ final class UsageDocumentation {
     }
   }
 
-  void printUsageDocumentation() {
+  String usageText() {
+    List<String> lines = prerenderedUsage.isEmpty() ? usageLines() : prerenderedUsage;
+    StringBuilder sb = new StringBuilder();
+    for (String line : lines) {
+      sb.append(line).append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+  List<String> usageLines() {
+    List<String> result = new ArrayList<>();
     List<String> description = new ArrayList<>();
     String desc = messages.get(descriptionKey);
     if (desc != null) {
@@ -118,10 +133,10 @@ final class UsageDocumentation {
         Collections.addAll(description, line.split("\\s+", -1));
       }
     }
-    makeLines("", description).forEach(out::println);
+    result.addAll(makeLines("", description));
 
     if (!description.isEmpty()) {
-      out.println();
+      result.add("");
     }
 
     String optionsFormat = "  %1$-" + maxWidthOptions + "s ";
@@ -129,26 +144,27 @@ final class UsageDocumentation {
     String indent_p = String.join("", Collections.nCopies(maxWidthParameters + 4, " "));
     String indent_o = String.join("", Collections.nCopies(maxWidthOptions + 4, " "));
 
-    out.println(ansiStyle.bold("USAGE").orElse("USAGE"));
+    result.add(ansiStyle.bold("USAGE").orElse("USAGE"));
     String indent_u = String.join("", Collections.nCopies(CONTINUATION_INDENT_USAGE, " "));
-    makeLines(indent_u, synopsis.createSynopsis(" ")).forEach(out::println);
+    result.addAll(makeLines(indent_u, synopsis.createSynopsis(" ")));
     if (!parameters.isEmpty()) {
-      out.println();
-      out.println(ansiStyle.bold("PARAMETERS").orElse("PARAMETERS"));
+      result.add("");
+      result.add(ansiStyle.bold("PARAMETERS").orElse("PARAMETERS"));
     }
     for (Parameter parameter : parameters) {
-      printItemDocumentation(parameter, String.format(paramsFormat, parameter.namesOverview()), indent_p);
+      result.addAll(itemDocumentation(parameter, String.format(paramsFormat, parameter.namesOverview()), indent_p));
     }
     if (!options.isEmpty()) {
-      out.println();
-      out.println(ansiStyle.bold("OPTIONS").orElse("OPTIONS"));
+      result.add("");
+      result.add(ansiStyle.bold("OPTIONS").orElse("OPTIONS"));
     }
     for (Option option : options) {
-      printItemDocumentation(option, String.format(optionsFormat, option.namesOverview()), indent_o);
+      result.addAll(itemDocumentation(option, String.format(optionsFormat, option.namesOverview()), indent_o));
     }
+    return result;
   }
 
-  private void printItemDocumentation(Item item, String itemName, String indent) {
+  private List<String> itemDocumentation(Item item, String itemName, String indent) {
     String message = item.descriptionKey().isEmpty() ? null : messages.get(item.descriptionKey());
     List<String> tokens = new ArrayList<>();
     tokens.add(itemName);
@@ -160,7 +176,7 @@ final class UsageDocumentation {
             .map(s -> s.split("\\s+", -1))
             .flatMap(Arrays::stream)
             .collect(Collectors.toList())));
-    makeLines(indent, tokens).forEach(out::println);
+    return makeLines(indent, tokens);
   }
 
   private List<String> makeLines(String indent, List<String> tokens) {
@@ -0,0 +1,46 @@
+package net.jbock.contrib;
+
+import net.jbock.model.CommandModel;
+
+import java.util.List;
+
+/**
+ * Internal API, which is used by the annotation processor
+ * to pre-render the usage documentation.
+ * It is not intended for use in client code,
+ * and may change or be removed in any release.
+ */
+public final class UsagePrerenderer {
+
+  /* Must be incremented whenever a change of the renderer
+   * changes the rendered lines.
+   * Lines that were pre-rendered by a different version are ignored.
+   */
+  private static final int VERSION = 1;
+
+  private UsagePrerenderer() {
+  }
+
+  /**
+   * Renders the usage documentation of a command
+   * that does not use any description keys,
+   * for the default terminal width.
+   *
+   * @param model command model
+   * @return the lines of the usage documentation
+   */
+  public static List<String> render(CommandModel model) {
+    return UsageDocumentation.builder(model).build().usageLines();
+  }
+
+  /**
+   * Returns the version of this renderer.
+   * It is stored in the generated command model,
+   * along with the pre-rendered lines.
+   *
+   * @return renderer version
+   */
+  public static int version() {
+    return VERSION;
+  }
+}
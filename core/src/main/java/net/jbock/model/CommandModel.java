@@ -9,6 +9,7 @@ import java.util.List;
 /**
  * The runtime model of a class that is annotated with
  * {@link Command}.
+ * Instances of this class are immutable.
  */
 public final class CommandModel {
 
@@ -21,6 +22,8 @@ public final class CommandModel {
   private final boolean atFileExpansion;
   private final List<Option> options;
   private final List<Parameter> parameters;
+  private final List<String> prerenderedUsage;
+  private final int usageRendererVersion;
 
   private CommandModel(
       String descriptionKey,
@@ -31,7 +34,9 @@ public final class CommandModel {
       boolean superCommand,
       boolean atFileExpansion,
       List<Option> options,
-      List<Parameter> parameters) {
+      List<Parameter> parameters,
+      List<String> prerenderedUsage,
+      int usageRendererVersion) {
     this.descriptionKey = descriptionKey;
     this.descriptionLines = descriptionLines;
     this.programName = programName;
@@ -41,6 +46,8 @@ public final class CommandModel {
     this.atFileExpansion = atFileExpansion;
     this.options = options;
     this.parameters = parameters;
+    this.prerenderedUsage = prerenderedUsage;
+    this.usageRendererVersion = usageRendererVersion;
   }
 
   /**
@@ -67,6 +74,8 @@ public final class CommandModel {
     private boolean atFileExpansion;
     private final List<Option> options = new ArrayList<>();
     private final List<Parameter> parameters = new ArrayList<>();
+    private final List<String> prerenderedUsage = new ArrayList<>();
+    private int usageRendererVersion;
 
     /**
      * Set the description key.
@@ -176,6 +185,34 @@ public final class CommandModel {
       return this;
     }
 
+    /**
+     * Add a line of the usage documentation, as rendered by the
+     * annotation processor for the default terminal width.
+     * Internal method that is invoked from the generated code;
+     * it may change or be removed in any release.
+     *
+     * @param usageLine a line of usage documentation, possibly empty
+     * @return the builder instance
+     */
+    public Builder addPrerenderedUsageLine(String usageLine) {
+      this.prerenderedUsage.add(usageLine);
+      return this;
+    }
+
+    /**
+     * Set the version of the renderer that created the
+     * pre-rendered usage documentation.
+     * Internal method that is invoked from the generated code;
+     * it may change or be removed in any release.
+     *
+     * @param usageRendererVersion renderer version
+     * @return the builder instance
+     */
+    public Builder withUsageRendererVersion(int usageRendererVersion) {
+      this.usageRendererVersion = usageRendererVersion;
+      return this;
+    }
+
     /**
      * Create the command model.
      * Public method that may be invoked from the generated code.
@@ -183,8 +220,9 @@ public final class CommandModel {
      * @return command model
      */
     public CommandModel build() {
-      return new CommandModel(descriptionKey, descriptionLines, programName, ansi, helpEnabled, superCommand, atFileExpansion,
-          options, parameters);
+      return new CommandModel(descriptionKey, List.copyOf(descriptionLines), programName, ansi, helpEnabled,
+          superCommand, atFileExpansion, List.copyOf(options), List.copyOf(parameters),
+          List.copyOf(prerenderedUsage), usageRendererVersion);
     }
   }
 
@@ -246,6 +284,31 @@ public final class CommandModel {
     return parameters;
   }
 
+  /**
+   * Get the usage documentation that was rendered at compile time,
+   * for a terminal width of 80 characters.
+   * This is only available if the command does not use any description keys.
+   * Internal method; it may change or be removed in any release.
+   *
+   * @return a list of lines, or an empty list if the usage documentation
+   *         was not pre-rendered
+   */
+  public List<String> prerenderedUsage() {
+    return prerenderedUsage;
+  }
+
+  /**
+   * Get the version of the renderer that created the
+   * pre-rendered usage documentation.
+   * Internal method; it may change or be removed in any release.
+   *
+   * @return renderer version, or {@code 0} if the usage documentation
+   *         was not pre-rendered
+   */
+  public int usageRendererVersion() {
+    return usageRendererVersion;
+  }
+
   /**
    * Get the value of the {@link Command#helpEnabled()} attribute.
    *
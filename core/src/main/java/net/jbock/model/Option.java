@@ -130,8 +130,8 @@ public final class Option extends Item {
       return new Option(
           paramLabel,
           descriptionKey,
-          description,
-          names,
+          List.copyOf(description),
+          List.copyOf(names),
           multiplicity,
           arity);
     }
@@ -94,7 +94,7 @@ public final class Parameter extends Item {
      * @return parameter model
      */
     public Parameter build() {
-      return new Parameter(paramLabel, descriptionKey, description, skew);
+      return new Parameter(paramLabel, descriptionKey, List.copyOf(description), skew);
     }
   }
 
@@ -0,0 +1,115 @@
+package net.jbock.util;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache for the tokens of {@code @file}s.
+ * An entry is only used while the modification time and the size
+ * of the file are unchanged.
+ * Files that are read through the cache are read completely,
+ * so the cache should not be used with very large {@code @file}s.
+ *
+ * @see AtFileReader#setCache(AtFileCache)
+ */
+public final class AtFileCache {
+
+  private final Map<Path, CachedTokens> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private AtFileCache(int maxEntries) {
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, CachedTokens> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxEntries the maximum number of cached files
+   * @return a new cache
+   * @throws IllegalArgumentException if {@code maxEntries} is not positive
+   */
+  public static AtFileCache create(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries: " + maxEntries);
+    }
+    return new AtFileCache(maxEntries);
+  }
+
+  /**
+   * Returns the number of lookups that could be served from the cache.
+   *
+   * @return hit count
+   */
+  public long hits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that had to read the file.
+   *
+   * @return miss count
+   */
+  public long misses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the number of cached files.
+   *
+   * @return cache size
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  List<String> get(Path path, BasicFileAttributes attributes) {
+    CachedTokens entry;
+    synchronized (entries) {
+      entry = entries.get(path);
+    }
+    if (entry == null || !entry.isCurrent(attributes)) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.tokens;
+  }
+
+  void put(Path path, BasicFileAttributes attributes, List<String> tokens) {
+    CachedTokens entry = new CachedTokens(attributes.lastModifiedTime(), attributes.size(), List.copyOf(tokens));
+    synchronized (entries) {
+      entries.put(path, entry);
+    }
+  }
+
+  private static final class CachedTokens {
+
+    final FileTime lastModifiedTime;
+    final long size;
+    final List<String> tokens;
+
+    CachedTokens(FileTime lastModifiedTime, long size, List<String> tokens) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+      this.tokens = tokens;
+    }
+
+    boolean isCurrent(BasicFileAttributes attributes) {
+      return lastModifiedTime.equals(attributes.lastModifiedTime())
+          && size == attributes.size();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package net.jbock.util;
+
+import net.jbock.model.CommandModel;
+
+/**
+ * Indicates that an {@code @file} could not be read.
+ * Internal exception that may be thrown and caught
+ * in the generated code.
+ * It does not have a stack trace, see {@link ExNotSuccess}.
+ */
+public final class AtFileException extends RuntimeException {
+
+  private final String atFile;
+  private final Exception exception;
+
+  AtFileException(String atFile, Exception exception) {
+    super(exception.toString(), exception, false, false);
+    this.atFile = atFile;
+    this.exception = exception;
+  }
+
+  /**
+   * Convert this exception to a failure object by removing
+   * the internal stacktrace and adding the command model.
+   * Public method that may be invoked from the generated code.
+   *
+   * @param model the command model
+   * @return failure object
+   */
+  public NotSuccess toError(CommandModel model) {
+    return new ErrAtFile(model, atFile, exception);
+  }
+}
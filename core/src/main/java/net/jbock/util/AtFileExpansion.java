@@ -0,0 +1,148 @@
+package net.jbock.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * The command line tokens, with each {@code @file} token replaced by
+ * the tokens in that file.
+ * Tokens in an {@code @file} may refer to other {@code @file}s.
+ * After the first {@code --} token, no more files are expanded.
+ * If an {@code @file} can not be read, or if it includes itself,
+ * the iterator methods throw an {@link AtFileException}.
+ */
+public final class AtFileExpansion implements Iterator<String>, Closeable {
+
+  private final AtFileReader reader;
+  private final Iterator<String> args;
+  private final ParseListener listener = ParseListeners.current();
+  private final Deque<Frame> frames = new ArrayDeque<>(4);
+
+  private String next;
+  private boolean expand = true;
+
+  AtFileExpansion(AtFileReader reader, Iterator<String> args) {
+    this.reader = reader;
+    this.args = args;
+  }
+
+  @Override
+  public boolean hasNext() {
+    advance();
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    advance();
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    String result = next;
+    next = null;
+    return result;
+  }
+
+  /**
+   * Closes all files that are currently open.
+   * An error while closing is ignored, because the files are only read.
+   */
+  @Override
+  public void close() {
+    while (!frames.isEmpty()) {
+      closeQuietly(frames.pop());
+    }
+  }
+
+  private void advance() {
+    while (next == null) {
+      Frame frame = frames.peek();
+      String token;
+      if (frame == null) {
+        if (!args.hasNext()) {
+          return;
+        }
+        token = args.next();
+      } else {
+        try {
+          if (!frame.tokens.hasNext()) {
+            closeQuietly(frames.pop());
+            if (listener != null) {
+              listener.atFileRead(frame.fileName, frame.bytes, System.nanoTime() - frame.start);
+            }
+            continue;
+          }
+          token = frame.tokens.next();
+        } catch (UncheckedIOException e) {
+          throw new AtFileException(frame.fileName, e.getCause());
+        }
+      }
+      if (expand && token.length() >= 2 && token.charAt(0) == '@') {
+        push(token.substring(1));
+      } else {
+        expand = expand && !"--".equals(token);
+        next = token;
+      }
+    }
+  }
+
+  private void push(String fileName) {
+    try {
+      Path path = Paths.get(fileName).toRealPath();
+      for (Frame frame : frames) {
+        if (frame.path.equals(path)) {
+          throw new IOException("cyclic @file expansion: " + cycle(fileName));
+        }
+      }
+      long start = listener != null ? System.nanoTime() : 0L;
+      long bytes = listener != null ? Files.size(path) : 0L;
+      frames.push(new Frame(fileName, path, reader.open(path), start, bytes));
+    } catch (Exception e) {
+      throw new AtFileException(fileName, e);
+    }
+  }
+
+  private String cycle(String fileName) {
+    Deque<String> names = new ArrayDeque<>();
+    for (Frame frame : frames) {
+      names.push(frame.fileName);
+    }
+    names.add(fileName);
+    return names.stream().map(name -> "@" + name).collect(Collectors.joining(" -> "));
+  }
+
+  private static void closeQuietly(Frame frame) {
+    if (frame.tokens instanceof Closeable) {
+      try {
+        ((Closeable) frame.tokens).close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private static final class Frame {
+
+    final String fileName;
+    final Path path;
+    final Iterator<String> tokens;
+    final long start;
+    final long bytes;
+
+    Frame(String fileName, Path path, Iterator<String> tokens, long start, long bytes) {
+      this.fileName = fileName;
+      this.path = path;
+      this.tokens = tokens;
+      this.start = start;
+      this.bytes = bytes;
+    }
+  }
+}
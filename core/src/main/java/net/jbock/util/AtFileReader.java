@@ -3,11 +3,15 @@ package net.jbock.util;
 import net.jbock.Command;
 import net.jbock.either.Either;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -19,83 +23,107 @@ import static net.jbock.either.Either.right;
  */
 public final class AtFileReader {
 
+  private static volatile AtFileCache cache;
+
   /**
-   * Read the contents of the {@code @file} into a string array.
+   * Set a cache for the tokens of {@code @file}s, which is shared
+   * by all parsers.
+   * This can be useful in a long-running process that reads the same
+   * {@code @file}s many times.
+   * By default, no cache is used.
+   *
+   * @param atFileCache a cache, or {@code null} to disable caching
+   */
+  public static void setCache(AtFileCache atFileCache) {
+    cache = atFileCache;
+  }
+
+  /**
+   * Expand the {@code @file} tokens in the given command line.
+   * The files are read while the tokens are consumed.
    * This method may be invoked from the generated code,
    * unless {@link Command#atFileExpansion()} is {@code false}.
    *
+   * @param args the command line tokens
+   * @return the expanded tokens, which must be closed after use
+   */
+  public AtFileExpansion expand(Iterator<String> args) {
+    return new AtFileExpansion(this, args);
+  }
+
+  /**
+   * Read the contents of the {@code @file} into a string array.
+   *
    * @param fileName a file name
    * @return the options in the file, or an error report
    */
   public Either<FileReadingError, List<String>> readAtFile(String fileName) {
+    ParseListener listener = ParseListeners.current();
+    long start = listener != null ? System.nanoTime() : 0L;
     try {
-      Path path = Paths.get(fileName);
-      List<String> lines = Files.readAllLines(path);
-      return right(readAtLines(lines));
-    } catch (Exception e) {
+      List<String> tokens = readAll(tokens(fileName));
+      if (listener != null) {
+        listener.atFileRead(fileName, Files.size(Paths.get(fileName)), System.nanoTime() - start);
+      }
+      return right(tokens);
+    } catch (IOException e) {
       return left(new FileReadingError(e, fileName));
     }
   }
 
-  private List<String> readAtLines(List<String> lines) {
-    Iterator<String> it = removeTrailingEmptyLines(lines);
-    List<String> tokens = new ArrayList<>(lines.size());
-    while (it.hasNext()) {
-      tokens.add(readTokenFromAtFile(it));
+  /**
+   * Open the {@code @file} for reading.
+   * The file is decoded as UTF-8, and read incrementally
+   * while the tokens are consumed.
+   * This method does not use the cache.
+   *
+   * @param fileName a file name
+   * @return the tokens in the file, which must be closed after use
+   * @throws IOException if the file cannot be opened or read
+   */
+  public AtFileTokens tokens(String fileName) throws IOException {
+    Path path;
+    try {
+      path = Paths.get(fileName);
+    } catch (InvalidPathException e) {
+      throw new IOException(e.getMessage(), e);
     }
-    return tokens;
-  }
-
-  private Iterator<String> removeTrailingEmptyLines(List<String> lines) {
-    ArrayList<String> arrayLines = new ArrayList<>(lines);
-    Collections.reverse(arrayLines);
-    ArrayList<String> copy = new ArrayList<>(arrayLines.size());
-    arrayLines.stream().dropWhile(String::isEmpty).forEach(copy::add);
-    Collections.reverse(copy);
-    return copy.iterator();
+    return newTokens(path);
   }
 
-  private String readTokenFromAtFile(Iterator<String> it) {
-    StringBuilder sb = new StringBuilder();
-    boolean esc;
-    do {
-      esc = readLine(it.next(), sb);
-    } while (esc && it.hasNext());
-    return sb.toString();
+  Iterator<String> open(Path path) throws IOException {
+    AtFileCache atFileCache = cache;
+    if (atFileCache == null) {
+      return newTokens(path);
+    }
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    List<String> tokens = atFileCache.get(path, attributes);
+    if (tokens == null) {
+      tokens = readAll(newTokens(path));
+      atFileCache.put(path, attributes, tokens);
+    }
+    return tokens.iterator();
   }
 
-  private boolean readLine(String line, StringBuilder sb) {
-    boolean esc = false;
-    int length = line.length();
-    for (int i = 0; i < length; i++) {
-      char c = line.charAt(i);
-      if (c == '\\') {
-        if (esc) {
-          sb.append('\\');
-          esc = false;
-        } else {
-          esc = true;
-        }
-      } else if (esc) {
-        sb.append(escapeValue(c));
-        esc = false;
-      } else {
-        sb.append(c);
+  private static List<String> readAll(AtFileTokens it) throws IOException {
+    try (it) {
+      List<String> tokens = new ArrayList<>();
+      while (it.hasNext()) {
+        tokens.add(it.next());
       }
+      return tokens;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
     }
-    return esc;
   }
 
-  private char escapeValue(char c) {
-    switch (c) {
-      case 'n':
-        return '\n';
-      case 'r':
-        return '\r';
-      case 't':
-        return '\t';
-      default:
-        return c;
+  private static AtFileTokens newTokens(Path path) throws IOException {
+    BufferedReader reader = Files.newBufferedReader(path);
+    try {
+      return new AtFileTokens(reader);
+    } catch (IOException e) {
+      reader.close();
+      throw e;
     }
   }
 }
@@ -0,0 +1,124 @@
+package net.jbock.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The tokens of an {@code @file}.
+ * The file is read line by line, while the tokens are consumed.
+ * Trailing empty lines are ignored.
+ * If an {@link IOException} occurs while reading,
+ * the iterator methods throw an {@link UncheckedIOException}.
+ */
+public final class AtFileTokens implements Iterator<String>, Closeable {
+
+  private final BufferedReader reader;
+
+  // the first line of the next token, or null at the end of the file
+  private String next;
+
+  // A run of empty lines is only known to be non-trailing
+  // once the next non-empty line was read.
+  private String lineAfterEmptyLines;
+  private int emptyLines;
+
+  AtFileTokens(BufferedReader reader) throws IOException {
+    this.reader = reader;
+    this.next = readLine();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    try {
+      StringBuilder sb = new StringBuilder();
+      boolean esc = appendLine(next, sb);
+      String line = readLine();
+      while (esc && line != null) {
+        esc = appendLine(line, sb);
+        line = readLine();
+      }
+      next = line;
+      return sb.toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private String readLine() throws IOException {
+    if (emptyLines > 0) {
+      emptyLines--;
+      return "";
+    }
+    if (lineAfterEmptyLines != null) {
+      String line = lineAfterEmptyLines;
+      lineAfterEmptyLines = null;
+      return line;
+    }
+    String line = reader.readLine();
+    if (line == null || !line.isEmpty()) {
+      return line;
+    }
+    int count = 1;
+    while ((line = reader.readLine()) != null && line.isEmpty()) {
+      count++;
+    }
+    if (line == null) {
+      return null; // trailing empty lines
+    }
+    lineAfterEmptyLines = line;
+    emptyLines = count - 1;
+    return "";
+  }
+
+  private static boolean appendLine(String line, StringBuilder sb) {
+    boolean esc = false;
+    int length = line.length();
+    for (int i = 0; i < length; i++) {
+      char c = line.charAt(i);
+      if (c == '\\') {
+        if (esc) {
+          sb.append('\\');
+          esc = false;
+        } else {
+          esc = true;
+        }
+      } else if (esc) {
+        sb.append(escapeValue(c));
+        esc = false;
+      } else {
+        sb.append(c);
+      }
+    }
+    return esc;
+  }
+
+  private static char escapeValue(char c) {
+    switch (c) {
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      default:
+        return c;
+    }
+  }
+}
@@ -5,7 +5,10 @@ package net.jbock.util;
  */
 public final class ConverterReturnedNull extends ConverterFailure {
 
-  ConverterReturnedNull() {
+  /**
+   * Public constructor that may be invoked from the generated code.
+   */
+  public ConverterReturnedNull() {
   }
 
   @Override
@@ -7,7 +7,12 @@ public final class ConverterThrewException extends ConverterFailure {
 
   private final Exception exception;
 
-  ConverterThrewException(Exception exception) {
+  /**
+   * Public constructor that may be invoked from the generated code.
+   *
+   * @param exception the exception that was thrown by the converter
+   */
+  public ConverterThrewException(Exception exception) {
     this.exception = exception;
   }
 
@@ -17,7 +22,7 @@ public final class ConverterThrewException extends ConverterFailure {
   }
 
   /**
-   * Returns the exception that was caught in {@link StringConverter#apply(String)}
+   * Returns the exception that was thrown by the converter.
    *
    * @return the exception
    */
@@ -5,9 +5,20 @@ import net.jbock.model.CommandModel;
 /**
  * Superclass of internal exceptions that may be thrown and caught
  * in the generated code.
+ * These exceptions do not have a stack trace,
+ * because they never leave the generated parser.
  */
 public abstract class ExNotSuccess extends Exception {
 
+  /**
+   * Creates an exception without message, cause, or stack trace.
+   * Filling in the stack trace would be the most expensive
+   * part of a failed parse.
+   */
+  protected ExNotSuccess() {
+    super(null, null, false, false);
+  }
+
   /**
    * Convert this exception to a failure object by removing
    * the internal stacktrace and adding the command model.
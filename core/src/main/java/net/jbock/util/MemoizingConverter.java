@@ -0,0 +1,140 @@
+package net.jbock.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A converter that remembers the results of another converter.
+ * This may be used for items that set a positive {@code cacheSize}.
+ * Failed conversions are not remembered.
+ *
+ * <p>The cache is split into stripes, which are locked independently.
+ * Each stripe evicts its least recently used entries,
+ * so that the total number of entries never exceeds the maximum size.
+ * The wrapped converter is invoked without holding a lock.
+ * If the same token is converted concurrently,
+ * it may therefore be converted more than once.</p>
+ *
+ * <p>Note: The converted values are shared between all parsing operations,
+ * so they should be immutable.</p>
+ *
+ * @param <T> converter output type
+ */
+public final class MemoizingConverter<T> extends StringConverter<T> {
+
+  private static final int MAX_STRIPES = 16;
+
+  private final StringConverter<T> delegate;
+  private final int maximumSize;
+  private final Stripe<T>[] stripes;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a memoizing converter.
+   *
+   * @param delegate the converter that does the actual work
+   * @param maximumSize the maximum number of entries, must be positive
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public MemoizingConverter(StringConverter<T> delegate, int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    this.delegate = delegate;
+    this.maximumSize = maximumSize;
+    int stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, maximumSize));
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      int capacity = maximumSize / stripeCount + (i < maximumSize % stripeCount ? 1 : 0);
+      stripes[i] = new Stripe<>(capacity);
+    }
+  }
+
+  @Override
+  public T convert(String token) throws Exception {
+    Stripe<T> stripe = stripes[stripeIndex(token)];
+    T cached;
+    synchronized (stripe) {
+      cached = stripe.get(token);
+    }
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    T result = delegate.convert(token);
+    if (result == null) {
+      return null;
+    }
+    synchronized (stripe) {
+      T previous = stripe.putIfAbsent(token, result);
+      return previous != null ? previous : result;
+    }
+  }
+
+  /**
+   * Returns the number of conversions that were answered from the cache.
+   *
+   * @return hit count
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of conversions that invoked the wrapped converter.
+   *
+   * @return miss count
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of values that are currently remembered.
+   *
+   * @return current number of entries
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe<T> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the maximum number of values that are remembered.
+   *
+   * @return maximum number of entries
+   */
+  public int maximumSize() {
+    return maximumSize;
+  }
+
+  private int stripeIndex(String token) {
+    int h = token.hashCode();
+    return (h ^ (h >>> 16)) & (stripes.length - 1);
+  }
+
+  private static final class Stripe<T> extends LinkedHashMap<String, T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    Stripe(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+      return size() > capacity;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package net.jbock.util;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Item;
+
+/**
+ * Receives notifications from the generated parsers,
+ * for monitoring purposes.
+ * A listener is registered with {@link ParseListeners#add(ParseListener)}.
+ * All methods have an empty default implementation.
+ * A listener may be invoked from several threads at the same time.
+ *
+ * <p>The notifications for a single invocation of a generated {@code parse}
+ *    method arrive in this order:</p>
+ *
+ * <ol>
+ *   <li>{@link #parseStarted(CommandModel)}</li>
+ *   <li>{@link #tokensRead(CommandModel)}, unless the tokens could not be read</li>
+ *   <li>{@link #itemConverted(Item, long)}, once per converted token</li>
+ *   <li>{@link #parseFailed(NotSuccess)}, if the result is not successful</li>
+ *   <li>{@link #parseFinished(CommandModel)}</li>
+ * </ol>
+ *
+ * <p>Additionally, {@link #atFileRead(String, long, long)} is invoked
+ *    for each {@code @file} that was read completely,
+ *    and {@link #usageRendered(CommandModel, long)} is invoked
+ *    when the usage documentation is rendered.</p>
+ */
+public interface ParseListener {
+
+  /**
+   * Invoked before the first token is read.
+   *
+   * @param model the command model
+   */
+  default void parseStarted(CommandModel model) {
+  }
+
+  /**
+   * Invoked when all tokens were read,
+   * before any of them are converted.
+   *
+   * @param model the command model
+   */
+  default void tokensRead(CommandModel model) {
+  }
+
+  /**
+   * Invoked after a converter was called,
+   * whether or not the conversion was successful.
+   *
+   * @param item the item that the token belongs to
+   * @param nanos duration of the conversion in nanoseconds
+   */
+  default void itemConverted(Item item, long nanos) {
+  }
+
+  /**
+   * Invoked if the parse result is not successful,
+   * including the case when the {@code --help} option was passed.
+   * The error type can be found by inspecting the class of
+   * {@code failure}, for example {@link ErrToken#errorType()}
+   * or {@link ErrConvert#item()}.
+   *
+   * @param failure the failure object
+   */
+  default void parseFailed(NotSuccess failure) {
+  }
+
+  /**
+   * Invoked when the parse result is ready.
+   *
+   * @param model the command model
+   */
+  default void parseFinished(CommandModel model) {
+  }
+
+  /**
+   * Invoked when an {@code @file} was read completely.
+   * Because the tokens in the file are consumed while
+   * the file is read, the duration includes the time that was
+   * spent on parsing these tokens.
+   *
+   * @param fileName the file name, as given on the command line
+   * @param bytes the size of the file in bytes
+   * @param nanos the time in nanoseconds that the file was open
+   */
+  default void atFileRead(String fileName, long bytes, long nanos) {
+  }
+
+  /**
+   * Invoked when the usage documentation was rendered.
+   * This does not happen when a cached rendering is used.
+   *
+   * @param model the command model
+   * @param nanos duration of the rendering in nanoseconds
+   */
+  default void usageRendered(CommandModel model, long nanos) {
+  }
+}
@@ -0,0 +1,132 @@
+package net.jbock.util;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Item;
+
+import java.util.Arrays;
+
+/**
+ * The registry of {@link ParseListener}s.
+ * While no listener is registered,
+ * the generated parsers skip all notifications.
+ */
+public final class ParseListeners {
+
+  private static final ParseListener[] EMPTY = new ParseListener[0];
+
+  private static ParseListener[] listeners = EMPTY;
+  private static volatile ParseListener current;
+
+  private ParseListeners() {
+  }
+
+  /**
+   * Register a listener for all generated parsers.
+   *
+   * @param listener a listener
+   */
+  public static synchronized void add(ParseListener listener) {
+    listeners = Arrays.copyOf(listeners, listeners.length + 1);
+    listeners[listeners.length - 1] = listener;
+    update();
+  }
+
+  /**
+   * Remove a listener that was previously registered.
+   *
+   * @param listener a listener
+   */
+  public static synchronized void remove(ParseListener listener) {
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i] == listener) {
+        ParseListener[] copy = new ParseListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, copy, 0, i);
+        System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+        listeners = copy;
+        update();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the listener that should be notified.
+   * Public method that may be invoked from the generated code.
+   *
+   * @return a listener, or {@code null} if no listener is registered
+   */
+  public static ParseListener current() {
+    return current;
+  }
+
+  private static void update() {
+    switch (listeners.length) {
+      case 0:
+        current = null;
+        break;
+      case 1:
+        current = listeners[0];
+        break;
+      default:
+        current = new Composite(listeners);
+    }
+  }
+
+  private static final class Composite implements ParseListener {
+
+    private final ParseListener[] listeners;
+
+    Composite(ParseListener[] listeners) {
+      this.listeners = listeners;
+    }
+
+    @Override
+    public void parseStarted(CommandModel model) {
+      for (ParseListener listener : listeners) {
+        listener.parseStarted(model);
+      }
+    }
+
+    @Override
+    public void tokensRead(CommandModel model) {
+      for (ParseListener listener : listeners) {
+        listener.tokensRead(model);
+      }
+    }
+
+    @Override
+    public void itemConverted(Item item, long nanos) {
+      for (ParseListener listener : listeners) {
+        listener.itemConverted(item, nanos);
+      }
+    }
+
+    @Override
+    public void parseFailed(NotSuccess failure) {
+      for (ParseListener listener : listeners) {
+        listener.parseFailed(failure);
+      }
+    }
+
+    @Override
+    public void parseFinished(CommandModel model) {
+      for (ParseListener listener : listeners) {
+        listener.parseFinished(model);
+      }
+    }
+
+    @Override
+    public void atFileRead(String fileName, long bytes, long nanos) {
+      for (ParseListener listener : listeners) {
+        listener.atFileRead(fileName, bytes, nanos);
+      }
+    }
+
+    @Override
+    public void usageRendered(CommandModel model, long nanos) {
+      for (ParseListener listener : listeners) {
+        listener.usageRendered(model, nanos);
+      }
+    }
+  }
+}
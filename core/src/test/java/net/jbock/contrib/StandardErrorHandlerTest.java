@@ -0,0 +1,83 @@
+package net.jbock.contrib;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Multiplicity;
+import net.jbock.model.Option;
+import net.jbock.util.ErrToken;
+import net.jbock.util.ErrTokenType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StandardErrorHandlerTest {
+
+  @Test
+  void testSingleWrite() {
+    CommandModel model = CommandModel.builder()
+        .withDescriptionKey("")
+        .withProgramName("write-test")
+        .withHelpEnabled(true)
+        .build();
+    CountingOutputStream bytes = new CountingOutputStream();
+    StandardErrorHandler.builder(new ErrToken(model, ErrTokenType.INVALID_OPTION, "-x"))
+        .withOutputStream(new PrintStream(bytes, false, StandardCharsets.UTF_8))
+        .withExitHook(RuntimeException::new)
+        .build()
+        .handle();
+    String nl = System.lineSeparator();
+    assertEquals("ERROR: Invalid option: -x" + nl +
+        "Usage: write-test" + nl +
+        "Type 'write-test --help' for more information." + nl, bytes.toString(StandardCharsets.UTF_8));
+    assertEquals(1, bytes.writes);
+  }
+
+  @Test
+  void testHelpDisabled() {
+    CommandModel model = CommandModel.builder()
+        .withDescriptionKey("")
+        .withProgramName("no-help-test")
+        .withAnsi(false)
+        .withHelpEnabled(false)
+        .addOption(Option.builder()
+            .withParamLabel("FILE")
+            .withDescriptionKey("file.description")
+            .withNames(List.of("-f", "--file"))
+            .withMultiplicity(Multiplicity.OPTIONAL)
+            .addDescriptionLine("Not shown.")
+            .build())
+        .build();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    StandardErrorHandler.builder(new ErrToken(model, ErrTokenType.INVALID_OPTION, "-x"))
+        .withOutputStream(new PrintStream(bytes, false, StandardCharsets.UTF_8))
+        .withTerminalWidth(40)
+        .withMessages(Map.of("file.description", "The file that is read by the program."))
+        .withExitHook(RuntimeException::new)
+        .build()
+        .handle();
+    String nl = System.lineSeparator();
+    assertEquals("ERROR: Invalid option: -x" + nl +
+        "USAGE" + nl +
+        "  no-help-test [OPTIONS]" + nl +
+        nl +
+        "OPTIONS" + nl +
+        "  -f, --file FILE  The file that is read" + nl +
+        "                   by the program." + nl, bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  private static final class CountingOutputStream extends ByteArrayOutputStream {
+
+    int writes;
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      writes++;
+      super.write(b, off, len);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package net.jbock.contrib;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Multiplicity;
+import net.jbock.model.Option;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsageCacheTest {
+
+  private final CommandModel model = CommandModel.builder()
+      .withDescriptionKey("")
+      .withProgramName("cache-test")
+      .addOption(Option.builder()
+          .withParamLabel("FILE")
+          .withDescriptionKey("")
+          .withNames(List.of("-f", "--file"))
+          .withMultiplicity(Multiplicity.OPTIONAL)
+          .addDescriptionLine("The file.")
+          .build())
+      .build();
+
+  @Test
+  void testCacheHit() {
+    Map<String, String> messages = Map.of();
+    String usageText = UsageCache.usageText(model, 80, messages);
+    assertSame(usageText, UsageCache.usageText(model, 80, messages));
+    assertTrue(usageText.contains("cache-test [OPTIONS]"));
+  }
+
+  @Test
+  void testKeyedByWidthAndMessages() {
+    Map<String, String> messages = new HashMap<>();
+    String usageText = UsageCache.usageText(model, 80, messages);
+    assertNotSame(usageText, UsageCache.usageText(model, 81, messages));
+    String otherMessages = UsageCache.usageText(model, 80, new HashMap<>());
+    assertNotSame(usageText, otherMessages);
+    assertEquals(usageText, otherMessages);
+  }
+
+  @Test
+  void testBounded() {
+    for (int width = 100; width < 100 + 2 * UsageCache.MAX_ENTRIES; width++) {
+      UsageCache.usageText(model, width, Map.of());
+    }
+    assertEquals(UsageCache.MAX_ENTRIES, UsageCache.size());
+  }
+}
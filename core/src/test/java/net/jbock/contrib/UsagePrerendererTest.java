@@ -0,0 +1,47 @@
+package net.jbock.contrib;
+
+import net.jbock.model.CommandModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsagePrerendererTest {
+
+  @Test
+  void testPrerenderedLinesUsed() {
+    CommandModel model = model(UsagePrerenderer.version());
+    assertEquals(List.of("prerendered"), lines(model, UsageDocumentation.DEFAULT_TERMINAL_WIDTH));
+  }
+
+  @Test
+  void testOtherVersionIgnored() {
+    CommandModel model = model(UsagePrerenderer.version() + 1);
+    assertEquals(UsagePrerenderer.render(model), lines(model, UsageDocumentation.DEFAULT_TERMINAL_WIDTH));
+    assertTrue(UsagePrerenderer.render(model).contains("USAGE"));
+  }
+
+  @Test
+  void testOtherWidthIgnored() {
+    CommandModel model = model(UsagePrerenderer.version());
+    assertTrue(lines(model, 100).contains("USAGE"));
+  }
+
+  private static CommandModel model(int version) {
+    return CommandModel.builder()
+        .withProgramName("test")
+        .withUsageRendererVersion(version)
+        .addPrerenderedUsageLine("prerendered")
+        .build();
+  }
+
+  private static List<String> lines(CommandModel model, int terminalWidth) {
+    String text = UsageDocumentation.builder(model)
+        .withTerminalWidth(terminalWidth)
+        .build()
+        .usageText();
+    return List.of(text.split(System.lineSeparator()));
+  }
+}
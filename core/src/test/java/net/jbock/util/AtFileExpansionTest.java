@@ -0,0 +1,81 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtFileExpansionTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void testNested() throws IOException {
+    Path inner = write("inner", "2", "3");
+    Path outer = write("outer", "1", "@" + inner, "4");
+    Assertions.assertEquals(List.of("0", "1", "2", "3", "4", "5", "2", "3", "@"),
+        expand("0", "@" + outer, "5", "@" + inner, "@"));
+  }
+
+  @Test
+  void testNoExpansionAfterDoubleDash() throws IOException {
+    Path file = write("file", "1", "--", "@x");
+    Assertions.assertEquals(List.of("1", "--", "@x", "@" + file),
+        expand("@" + file, "@" + file));
+  }
+
+  @Test
+  void testCycle() throws IOException {
+    Path a = dir.resolve("a");
+    Path b = write("b", "@" + a);
+    write("a", "@" + b);
+    AtFileException e = assertThrows(AtFileException.class, () -> expand("@" + a));
+    String message = ((ErrAtFile) e.toError(null)).message();
+    assertTrue(message.endsWith("cyclic @file expansion: @" + a + " -> @" + b + " -> @" + a), message);
+  }
+
+  @Test
+  void testMissingFile() {
+    AtFileException e = assertThrows(AtFileException.class, () -> expand("1", "@" + dir.resolve("missing")));
+    assertTrue(((ErrAtFile) e.toError(null)).message().startsWith("while reading " + dir.resolve("missing")));
+  }
+
+  @Test
+  void testCache() throws IOException, InterruptedException {
+    AtFileCache cache = AtFileCache.create(8);
+    AtFileReader.setCache(cache);
+    try {
+      Path file = write("file", "1", "2");
+      Assertions.assertEquals(List.of("1", "2", "1", "2"), expand("@" + file, "@" + file));
+      Assertions.assertEquals(1, cache.misses());
+      Assertions.assertEquals(1, cache.hits());
+      Files.write(file, List.of("1", "2", "3"));
+      Assertions.assertEquals(List.of("1", "2", "3"), expand("@" + file));
+      Assertions.assertEquals(2, cache.misses());
+      Assertions.assertEquals(1, cache.size());
+    } finally {
+      AtFileReader.setCache(null);
+    }
+  }
+
+  private Path write(String name, String... lines) throws IOException {
+    return Files.write(dir.resolve(name), List.of(lines));
+  }
+
+  private List<String> expand(String... args) {
+    List<String> result = new ArrayList<>();
+    try (AtFileExpansion tokens = new AtFileReader().expand(List.of(args).iterator())) {
+      tokens.forEachRemaining(result::add);
+    }
+    return result;
+  }
+}
@@ -3,7 +3,14 @@ package net.jbock.util;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Method;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 class AtFileReaderTest {
@@ -22,7 +29,7 @@ class AtFileReaderTest {
         "",
         "",
         "");
-    List<String> tokens = invokeReadAtLines(lines);
+    List<String> tokens = readAtLines(lines);
     Assertions.assertEquals(List.of(
         "",
         "1",
@@ -31,15 +38,45 @@ class AtFileReaderTest {
         tokens);
   }
 
-  private List<String> invokeReadAtLines(List<String> lines) {
+  @Test
+  void testTrailingEmptyLinesAndContinuation() {
+    Assertions.assertEquals(List.of("", "", "1", "2"),
+        readAtLines(List.of("", "", "1", "2\\", "", "")));
+    Assertions.assertEquals(List.of("1", "", "", "2"),
+        readAtLines(List.of("1", "", "", "2", "", "")));
+    Assertions.assertEquals(List.of(),
+        readAtLines(List.of("", "", "")));
+  }
+
+  @Test
+  void testReadAtFile() throws IOException {
+    Path file = Files.createTempFile("jbock", ".args");
     try {
-      Method readAtLines = reader.getClass().getDeclaredMethod("readAtLines", List.class);
-      readAtLines.setAccessible(true);
-      @SuppressWarnings("unchecked")
-      List<String> tokens = (List<String>) readAtLines.invoke(reader, lines);
+      try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+        for (int i = 0; i < 100_000; i++) {
+          writer.write("file" + i);
+          writer.newLine();
+        }
+        writer.newLine();
+      }
+      List<String> tokens = reader.readAtFile(file.toString()).getRight().orElseThrow();
+      Assertions.assertEquals(100_000, tokens.size());
+      Assertions.assertEquals("file99999", tokens.get(99_999));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private List<String> readAtLines(List<String> lines) {
+    String content = String.join("\n", lines);
+    try (AtFileTokens it = new AtFileTokens(new BufferedReader(new StringReader(content)))) {
+      List<String> tokens = new ArrayList<>();
+      while (it.hasNext()) {
+        tokens.add(it.next());
+      }
       return tokens;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
   }
-}
\ No newline at end of file
+}
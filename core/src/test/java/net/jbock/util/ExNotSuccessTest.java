@@ -0,0 +1,26 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ExNotSuccessTest {
+
+  @Test
+  void testNoStackTrace() {
+    assertEquals(0, new ExToken(ErrTokenType.INVALID_OPTION, "-x").getStackTrace().length);
+    assertEquals(0, new ExMissingItem(ItemType.OPTION, 0).getStackTrace().length);
+    assertEquals(0, new ExConvert(new ConverterReturnedNull(), ItemType.PARAMETER, 0).getStackTrace().length);
+  }
+
+  @Test
+  void testAtFileExceptionNoStackTrace() {
+    IOException cause = new IOException("foo");
+    AtFileException e = new AtFileException("file", cause);
+    assertEquals(0, e.getStackTrace().length);
+    assertSame(cause, e.getCause());
+  }
+}
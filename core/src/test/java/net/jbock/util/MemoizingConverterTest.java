@@ -0,0 +1,72 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemoizingConverterTest {
+
+  @Test
+  void testHitsAndMisses() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    MemoizingConverter<StringBuilder> converter = new MemoizingConverter<>(
+        StringConverter.create(s -> {
+          calls.incrementAndGet();
+          return new StringBuilder(s);
+        }), 10);
+    StringBuilder a = converter.convert("a");
+    assertSame(a, converter.convert("a"));
+    converter.convert("b");
+    assertEquals(2, calls.get());
+    assertEquals(1, converter.hitCount());
+    assertEquals(2, converter.missCount());
+    assertEquals(2, converter.size());
+  }
+
+  @Test
+  void testBounded() throws Exception {
+    MemoizingConverter<String> converter = new MemoizingConverter<>(
+        StringConverter.create(s -> s), 20);
+    for (int i = 0; i < 1000; i++) {
+      converter.convert(Integer.toString(i));
+    }
+    assertEquals(20, converter.size());
+    assertEquals(1000, converter.missCount());
+  }
+
+  @Test
+  void testLeastRecentlyUsedIsEvicted() throws Exception {
+    MemoizingConverter<String> converter = new MemoizingConverter<>(
+        StringConverter.create(s -> s), 1);
+    converter.convert("a");
+    converter.convert("b");
+    converter.convert("b");
+    converter.convert("a");
+    assertEquals(1, converter.hitCount());
+    assertEquals(3, converter.missCount());
+  }
+
+  @Test
+  void testFailureNotRemembered() {
+    AtomicInteger calls = new AtomicInteger();
+    MemoizingConverter<Integer> converter = new MemoizingConverter<>(
+        StringConverter.create(s -> {
+          calls.incrementAndGet();
+          return Integer.valueOf(s);
+        }), 10);
+    assertThrows(NumberFormatException.class, () -> converter.convert("x"));
+    assertThrows(NumberFormatException.class, () -> converter.convert("x"));
+    assertEquals(2, calls.get());
+    assertEquals(0, converter.size());
+  }
+
+  @Test
+  void testInvalidSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new MemoizingConverter<>(StringConverter.create(s -> s), 0));
+  }
+}
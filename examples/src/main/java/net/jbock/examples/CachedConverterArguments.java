@@ -0,0 +1,35 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.Parameters;
+import net.jbock.util.StringConverter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Command
+abstract class CachedConverterArguments {
+
+  static final AtomicInteger REGION_LOOKUPS = new AtomicInteger();
+
+  @Option(names = "--pattern", cacheSize = 16)
+  abstract Optional<Pattern> pattern();
+
+  @Option(names = "--format")
+  abstract Optional<String> format();
+
+  @Parameters(converter = RegionConverter.class, cacheSize = 4)
+  abstract List<String> regions();
+
+  static class RegionConverter extends StringConverter<String> {
+
+    @Override
+    public String convert(String token) {
+      REGION_LOOKUPS.incrementAndGet();
+      return token.toUpperCase();
+    }
+  }
+}
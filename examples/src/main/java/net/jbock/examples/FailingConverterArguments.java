@@ -0,0 +1,33 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.util.StringConverter;
+
+import java.util.Optional;
+
+@Command
+abstract class FailingConverterArguments {
+
+  static volatile boolean failConstructor;
+
+  @Option(names = "--x", converter = FlakyConverter.class)
+  abstract Optional<String> x();
+
+  @Option(names = "--y")
+  abstract Optional<Integer> y();
+
+  static class FlakyConverter extends StringConverter<String> {
+
+    public FlakyConverter() {
+      if (failConstructor) {
+        throw new IllegalStateException("catalog not available");
+      }
+    }
+
+    @Override
+    public String convert(String token) {
+      return token;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Converter;
+import net.jbock.Option;
+import net.jbock.Parameters;
+import net.jbock.util.StringConverter;
+
+import java.util.function.Supplier;
+
+@Command
+abstract class PrimitiveArraysArguments {
+
+  @Option(names = {"--i", "-i"})
+  abstract int[] ints();
+
+  @Option(names = {"--l", "-l"})
+  abstract long[] longs();
+
+  @Option(names = {"--d", "-d"})
+  abstract double[] doubles();
+
+  @Option(names = {"--x", "-x"}, converter = HexConverter.class)
+  abstract int[] hex();
+
+  @Parameters
+  abstract long[] ids();
+
+  @Converter
+  static class HexConverter implements Supplier<StringConverter<Integer>> {
+    @Override
+    public StringConverter<Integer> get() {
+      return StringConverter.create(s -> Integer.parseInt(s, 16));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Converter;
+import net.jbock.Option;
+import net.jbock.util.StringConverter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Command
+abstract class StatefulConverterArguments {
+
+  static final AtomicInteger PATTERN_CONVERTERS = new AtomicInteger();
+
+  @Option(names = "--word", converter = WordConverter.class)
+  abstract List<String> words();
+
+  @Option(names = "--line", converter = LineNumberConverter.class)
+  abstract List<String> lines();
+
+  static class WordConverter extends StringConverter<String> {
+
+    private final Pattern pattern = Pattern.compile("\\w+");
+
+    public WordConverter() {
+      PATTERN_CONVERTERS.incrementAndGet();
+    }
+
+    @Override
+    public String convert(String token) {
+      if (!pattern.matcher(token).matches()) {
+        throw new IllegalArgumentException("not a word: " + token);
+      }
+      return token;
+    }
+  }
+
+  @Converter(stateful = true)
+  static class LineNumberConverter extends StringConverter<String> {
+
+    private int lineNumber;
+
+    @Override
+    public String convert(String token) {
+      return ++lineNumber + ": " + token;
+    }
+  }
+}
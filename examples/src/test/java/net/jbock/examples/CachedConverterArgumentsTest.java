@@ -0,0 +1,52 @@
+package net.jbock.examples;
+
+import net.jbock.util.MemoizingConverter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachedConverterArgumentsTest {
+
+  private final CachedConverterArgumentsParser parser = new CachedConverterArgumentsParser();
+
+  @Test
+  void testConverterRunsOncePerDistinctValue() {
+    int lookups = CachedConverterArguments.REGION_LOOKUPS.get();
+    assertEquals(List.of("EU", "US", "EU"), parse("eu", "us", "eu").regions());
+    assertEquals(List.of("US"), parse("us").regions());
+    assertEquals(2, CachedConverterArguments.REGION_LOOKUPS.get() - lookups);
+  }
+
+  @Test
+  void testAutoConverterCached() {
+    Pattern pattern = parse("--pattern", "a+b").pattern().orElseThrow();
+    assertSame(pattern, parse("--pattern", "a+b").pattern().orElseThrow());
+  }
+
+  @Test
+  void testConverterCaches() {
+    parse("--pattern", "x*", "--format", "json", "eu");
+    parse("--pattern", "x*");
+    Map<String, MemoizingConverter<?>> caches = parser.converterCaches();
+    assertEquals(List.of("pattern", "regions"), List.copyOf(caches.keySet()));
+    MemoizingConverter<?> patterns = caches.get("pattern");
+    assertEquals(16, patterns.maximumSize());
+    assertEquals(4, caches.get("regions").maximumSize());
+    long misses = patterns.missCount();
+    long hits = patterns.hitCount();
+    parse("--pattern", "x*");
+    assertEquals(misses, patterns.missCount());
+    assertEquals(hits + 1, patterns.hitCount());
+  }
+
+  private CachedConverterArguments parse(String... args) {
+    return parser.parse(args)
+        .orElseThrow(l -> Assertions.<RuntimeException>fail("expecting success but found: " + l));
+  }
+}
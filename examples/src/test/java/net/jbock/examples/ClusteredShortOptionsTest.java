@@ -69,4 +69,11 @@ class ClusteredShortOptionsTest {
         "ccc", true,
         "file", "InputFile.txt");
   }
-}
\ No newline at end of file
+
+  @Test
+  void testClusterErrors() {
+    f.assertThat("-abca", "-fx").failsContaining("Option '-a' is a repetition");
+    f.assertThat("-abxc", "-fx").failsContaining("Invalid token: -abxc");
+    f.assertThat("-abcf").failsContaining("Missing argument after token: -f");
+  }
+}
@@ -1,14 +1,26 @@
 package net.jbock.examples;
 
+import net.jbock.either.Either;
 import net.jbock.examples.fixture.ParserTestFixture;
+import net.jbock.model.CommandModel;
+import net.jbock.util.NotSuccess;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static net.jbock.examples.fixture.ParserTestFixture.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CurlArgumentsTest {
@@ -231,6 +243,112 @@ class CurlArgumentsTest {
         .contains("Option '-X' is a repetition"));
   }
 
+  @Test
+  void errorNamePrefix() {
+    assertTrue(parser.parse("--verbos")
+        .getLeft().map(f::castToError).orElseThrow().message()
+        .contains("Invalid option: --verbos"));
+    assertTrue(parser.parse("--verbosee")
+        .getLeft().map(f::castToError).orElseThrow().message()
+        .contains("Invalid option: --verbosee"));
+  }
+
+  @Test
+  void testNameInArgument() {
+    f.assertThat("--request=--verbose").succeeds(
+        "method", Optional.of("--verbose"),
+        "headers", emptyList(),
+        "verbose", false,
+        "include", false,
+        "url", emptyList());
+  }
+
+  @Test
+  void testReusable() {
+    Function<String[], Either<NotSuccess, CurlArguments>> reusable = parser.reusable();
+    ParserTestFixture<CurlArguments> r = ParserTestFixture.create(reusable);
+    r.assertThat("-v", "-H1", "-XPOST", "a").succeeds(
+        "method", Optional.of("POST"),
+        "headers", singletonList("1"),
+        "verbose", true,
+        "include", false,
+        "url", singletonList("a"));
+    assertTrue(reusable.apply(new String[]{"-H2", "-X1", "-X2"}).getLeft().isPresent());
+    r.assertThat("-i", "-H3").succeeds(
+        "method", Optional.empty(),
+        "headers", singletonList("3"),
+        "verbose", false,
+        "include", true,
+        "url", emptyList());
+  }
+
+  @Test
+  void testConcurrent() throws Exception {
+    Function<String[], Either<NotSuccess, CurlArguments>> concurrent = parser.concurrent();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        String n = Integer.toString(i);
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 500; j++) {
+            CurlArguments result = concurrent.apply(new String[]{"-vH" + n, "-X", n, n})
+                .getRight().orElseThrow();
+            Assertions.assertEquals(Optional.of(n), result.method());
+            Assertions.assertEquals(singletonList(n), result.headers());
+            Assertions.assertEquals(singletonList(n), result.url());
+            assertTrue(result.verbose());
+            assertTrue(concurrent.apply(new String[]{"-X" + n, "-X" + n}).getLeft().isPresent());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testParseAll() {
+    assertParseAll();
+  }
+
+  @Test
+  void testParseAllRepeated() {
+    for (int i = 0; i < 5; i++) {
+      assertParseAll();
+    }
+  }
+
+  private void assertParseAll() {
+    List<String[]> argsList = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      argsList.add(i % 7 == 0
+          ? new String[]{"-X" + i, "-X" + i}
+          : new String[]{"-H", Integer.toString(i)});
+    }
+    List<Either<NotSuccess, CurlArguments>> results = parser.parseAll(argsList);
+    Assertions.assertEquals(argsList.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      if (i % 7 == 0) {
+        assertTrue(results.get(i).getLeft().isPresent());
+      } else {
+        Assertions.assertEquals(singletonList(Integer.toString(i)),
+            results.get(i).getRight().orElseThrow().headers());
+      }
+    }
+  }
+
+  @Test
+  void testModelIsShared() {
+    CommandModel model = parser.parse("--help").getLeft().orElseThrow().commandModel();
+    assertSame(model, parser.parse("-X1", "-X2").getLeft().orElseThrow().commandModel());
+    assertThrows(UnsupportedOperationException.class, () -> model.options().clear());
+    assertThrows(UnsupportedOperationException.class, () -> model.descriptionLines().clear());
+  }
+
   @Test
   void testPrint() {
     String[] actual = parser.parse("--help")
@@ -0,0 +1,31 @@
+package net.jbock.examples;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FailingConverterArgumentsTest {
+
+  private final FailingConverterArgumentsParser parser = new FailingConverterArgumentsParser();
+
+  @Test
+  void testConstructorFailureIsNotPermanent() {
+    FailingConverterArguments.failConstructor = true;
+    try {
+      IllegalStateException e = assertThrows(IllegalStateException.class,
+          () -> parser.parse("--x", "a"));
+      assertEquals("catalog not available", e.getMessage());
+      assertThrows(IllegalStateException.class, () -> parser.parse("--x", "a"));
+      // other items are not affected
+      assertEquals(Optional.of(1), parser.parse("--y", "1").getRight().orElseThrow().y());
+    } finally {
+      FailingConverterArguments.failConstructor = false;
+    }
+    FailingConverterArguments args = parser.parse("--x", "a", "--y", "2").getRight().orElseThrow();
+    assertEquals(Optional.of("a"), args.x());
+    assertEquals(Optional.of(2), args.y());
+  }
+}
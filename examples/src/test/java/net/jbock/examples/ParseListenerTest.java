@@ -0,0 +1,105 @@
+package net.jbock.examples;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Item;
+import net.jbock.util.ErrConvert;
+import net.jbock.util.ErrToken;
+import net.jbock.util.NotSuccess;
+import net.jbock.util.ParseListener;
+import net.jbock.util.ParseListeners;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParseListenerTest {
+
+  private final PrimitiveArraysArgumentsParser parser = new PrimitiveArraysArgumentsParser();
+
+  private final List<String> events = new ArrayList<>();
+
+  private final ParseListener listener = new ParseListener() {
+    @Override
+    public void parseStarted(CommandModel model) {
+      events.add("started");
+    }
+
+    @Override
+    public void tokensRead(CommandModel model) {
+      events.add("tokensRead");
+    }
+
+    @Override
+    public void itemConverted(Item item, long nanos) {
+      events.add("converted " + item.paramLabel());
+    }
+
+    @Override
+    public void parseFailed(NotSuccess failure) {
+      if (failure instanceof ErrConvert) {
+        Item item = ((ErrConvert) failure).item();
+        events.add("failed " + item.itemType() + " " + item.paramLabel());
+      } else if (failure instanceof ErrToken) {
+        events.add("failed " + ((ErrToken) failure).errorType());
+      } else {
+        events.add("failed " + failure.getClass().getSimpleName());
+      }
+    }
+
+    @Override
+    public void parseFinished(CommandModel model) {
+      events.add("finished");
+    }
+  };
+
+  @BeforeEach
+  void addListener() {
+    ParseListeners.add(listener);
+  }
+
+  @AfterEach
+  void removeListener() {
+    ParseListeners.remove(listener);
+  }
+
+  @Test
+  void testSuccess() {
+    parser.parse("-x", "ff", "7");
+    assertEquals(List.of("started", "tokensRead", "converted X", "converted IDS", "finished"), events);
+  }
+
+  @Test
+  void testConversionError() {
+    parser.parse("-i", "x");
+    assertEquals(List.of("started", "tokensRead", "converted I", "failed OPTION I", "finished"), events);
+    events.clear();
+    parser.parse("x");
+    assertEquals(List.of("started", "tokensRead", "converted IDS", "failed PARAMETER IDS", "finished"), events);
+  }
+
+  @Test
+  void testTokenError() {
+    parser.parse("--foo");
+    assertEquals(List.of("started", "failed INVALID_OPTION", "finished"), events);
+    events.clear();
+    parser.parse("-i");
+    assertEquals(List.of("started", "failed MISSING_ARGUMENT", "finished"), events);
+  }
+
+  @Test
+  void testHelp() {
+    parser.parse("--help");
+    assertEquals(List.of("started", "failed HelpRequested", "finished"), events);
+  }
+
+  @Test
+  void testRemoved() {
+    ParseListeners.remove(listener);
+    parser.parse("-i", "1");
+    assertEquals(List.of(), events);
+  }
+}
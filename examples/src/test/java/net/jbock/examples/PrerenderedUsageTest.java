@@ -0,0 +1,65 @@
+package net.jbock.examples;
+
+import net.jbock.contrib.UsagePrerenderer;
+import net.jbock.model.CommandModel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the usage documentation which was pre-rendered
+ * by the annotation processor is the same as the runtime rendering,
+ * for every example command.
+ */
+class PrerenderedUsageTest {
+
+  @Test
+  void testAllExamples() throws Exception {
+    List<String> parsers = parserClassNames();
+    assertFalse(parsers.isEmpty());
+    int prerendered = 0;
+    for (String parser : parsers) {
+      CommandModel model = createModel(parser);
+      if (model.prerenderedUsage().isEmpty()) {
+        continue;
+      }
+      prerendered++;
+      assertEquals(UsagePrerenderer.version(), model.usageRendererVersion(), parser);
+      assertEquals(UsagePrerenderer.render(model), model.prerenderedUsage(), parser);
+    }
+    assertTrue(prerendered > parsers.size() / 2);
+  }
+
+  private static List<String> parserClassNames() throws Exception {
+    URL url = PrerenderedUsageTest.class.getResource("RmArgumentsParser.class");
+    Path dir = Paths.get(url.toURI()).getParent();
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.map(file -> file.getFileName().toString())
+          .filter(name -> name.endsWith("Parser.class") && !name.contains("$"))
+          .map(name -> "net.jbock.examples." + name.substring(0, name.length() - ".class".length()))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static CommandModel createModel(String parser) throws Exception {
+    Class<?> parserClass = Class.forName(parser);
+    Constructor<?> constructor = parserClass.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    Method createModel = parserClass.getDeclaredMethod("createModel");
+    createModel.setAccessible(true);
+    return (CommandModel) createModel.invoke(constructor.newInstance());
+  }
+}
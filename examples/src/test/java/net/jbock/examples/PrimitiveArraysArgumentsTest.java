@@ -0,0 +1,54 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimitiveArraysArgumentsTest {
+
+  private final PrimitiveArraysArgumentsParser parser = new PrimitiveArraysArgumentsParser();
+
+  private final ParserTestFixture<PrimitiveArraysArguments> f =
+      ParserTestFixture.create(parser::parse);
+
+  @Test
+  void simpleTest() {
+    PrimitiveArraysArguments parsed = f.parse(
+        "-i", "1", "-i2",
+        "-l", "3",
+        "-d", "4.5", "-d", "6",
+        "-x", "ff",
+        "7", "8", "9");
+    assertArrayEquals(new int[]{1, 2}, parsed.ints());
+    assertArrayEquals(new long[]{3}, parsed.longs());
+    assertArrayEquals(new double[]{4.5, 6}, parsed.doubles());
+    assertArrayEquals(new int[]{255}, parsed.hex());
+    assertArrayEquals(new long[]{7, 8, 9}, parsed.ids());
+  }
+
+  @Test
+  void testEmpty() {
+    PrimitiveArraysArguments parsed = f.parse();
+    assertArrayEquals(new int[0], parsed.ints());
+    assertArrayEquals(new long[0], parsed.longs());
+    assertArrayEquals(new double[0], parsed.doubles());
+    assertArrayEquals(new int[0], parsed.hex());
+    assertArrayEquals(new long[0], parsed.ids());
+  }
+
+  @Test
+  void errorInvalidNumber() {
+    assertTrue(parser.parse("-i", "1", "-i", "x")
+        .getLeft().map(f::castToError).orElseThrow().message()
+        .contains("while converting option I (-i, --i): For input string: \"x\""));
+  }
+
+  @Test
+  void errorInvalidDouble() {
+    assertTrue(parser.parse("-d", "1.5", "-d", "x")
+        .getLeft().map(f::castToError).orElseThrow().message()
+        .contains("while converting option D (-d, --d): For input string: \"x\""));
+  }
+}
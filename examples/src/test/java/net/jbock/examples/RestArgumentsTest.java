@@ -13,6 +13,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static net.jbock.examples.fixture.ParserTestFixture.assertArraysEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -54,6 +55,12 @@ class RestArgumentsTest {
     assertArraysEquals(actual, expected);
   }
 
+  @Test
+  void testNoPrerenderedUsage() {
+    assertTrue(parser.parse("--help").getLeft().orElseThrow()
+        .commandModel().prerenderedUsage().isEmpty());
+  }
+
   @Test
   void testBundleKeyFromResourceBundle() {
     ResourceBundle bundle = mock(ResourceBundle.class);
@@ -1,8 +1,17 @@
 package net.jbock.examples;
 
+import net.jbock.contrib.UsagePrerenderer;
 import net.jbock.examples.fixture.ParserTestFixture;
+import net.jbock.model.CommandModel;
+import net.jbock.util.NotSuccess;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
 import static java.util.Arrays.asList;
 import static net.jbock.examples.fixture.ParserTestFixture.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,6 +38,69 @@ class RmArgumentsTest {
         .contains("Invalid option: --foo-bar"));
   }
 
+  @Test
+  void testInvalidTokenVariants() {
+    for (String token : new String[]{"-x", "-X9", "--x", "--x-y-", "---"}) {
+      assertTrue(parser.parse(token).getLeft().map(f::castToError)
+          .orElseThrow().message()
+          .contains("Invalid option: " + token));
+    }
+  }
+
+  @Test
+  void testNotSuspicious() {
+    f.assertThat("-", "-a-b", "-a_b", "--x_y", "--x=y", "-\u00e4", "x-y").succeeds(
+        "recursive", false,
+        "force", false,
+        "otherTokens", asList("-", "-a-b", "-a_b", "--x_y", "--x=y", "-\u00e4", "x-y"));
+  }
+
+  @Test
+  void testAtFile() throws IOException {
+    Path file = Files.createTempFile("rm", ".args");
+    try {
+      Files.write(file, asList("-r", "a", "", "b\\", "c", "", ""));
+      f.assertThat("@" + file).succeeds(
+          "recursive", true,
+          "force", false,
+          "otherTokens", asList("a", "", "bc"));
+      f.assertThat("-f", "@" + file, "d", "--", "@" + file).succeeds(
+          "recursive", true,
+          "force", true,
+          "otherTokens", asList("a", "", "bc", "d", "@" + file));
+    } finally {
+      Files.delete(file);
+    }
+    assertTrue(parser.parse("@" + file).getLeft().map(f::castToError)
+        .orElseThrow().message()
+        .startsWith("while reading " + file));
+  }
+
+  @Test
+  void testPrerenderedUsage() {
+    NotSuccess helpRequested = parser.parse("--help").getLeft().orElseThrow();
+    CommandModel model = helpRequested.commandModel();
+    Assertions.assertEquals(UsagePrerenderer.render(model), model.prerenderedUsage());
+    String[] actual = f.getUsageDocumentation(helpRequested, Map.of(), 80);
+    assertEquals(actual,
+        "\u001B[1mUSAGE\u001B[m",
+        "  rm-arguments [OPTIONS] OTHER_TOKENS...",
+        "",
+        "\u001B[1mPARAMETERS\u001B[m",
+        "  OTHER_TOKENS  This is a list that may be empty.",
+        "",
+        "\u001B[1mOPTIONS\u001B[m",
+        "  -r, --recursive  ALLES TURISTEN UND NONTEKNISCHEN LOOKENSPEEPERS! DAS",
+        "                   KOMPUTERMASCHINE IST NICHT FUR DER GEFINGERPOKEN UND",
+        "                   MITTENGRABEN! ODERWISE IST EASY TO SCHNAPPEN DER",
+        "                   SPRINGENWERK, BLOWENFUSEN UND POPPENCORKEN MIT",
+        "                   SPITZENSPARKEN. IST NICHT FUR GEWERKEN BEI DUMMKOPFEN. DER",
+        "                   RUBBERNECKEN SIGHTSEEREN KEEPEN DAS COTTONPICKEN HANDER IN",
+        "                   DAS POCKETS MUSS. ZO RELAXEN UND WATSCHEN DER BLINKENLICHTEN.",
+        "  -f, --force      Use the force, Luke.",
+        "");
+  }
+
   @Test
   void testPrint() {
     String[] actual = parser.parse("--help")
@@ -0,0 +1,40 @@
+package net.jbock.examples;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatefulConverterArgumentsTest {
+
+  private final StatefulConverterArgumentsParser parser = new StatefulConverterArgumentsParser();
+
+  @Test
+  void testStatelessConverterIsShared() {
+    parse("--word", "a");
+    int count = StatefulConverterArguments.PATTERN_CONVERTERS.get();
+    parse("--word", "b", "--word", "c");
+    parse("--word", "d");
+    assertEquals(1, count);
+    assertEquals(1, StatefulConverterArguments.PATTERN_CONVERTERS.get());
+  }
+
+  @Test
+  void testStatefulConverterIsNotShared() {
+    assertEquals(List.of("1: a", "2: b"), parse("--line", "a", "--line", "b").lines());
+    assertEquals(List.of("1: c"), parse("--line", "c").lines());
+  }
+
+  @Test
+  void testConversionError() {
+    assertTrue(parser.parse("--word", "a b").getLeft().isPresent());
+  }
+
+  private StatefulConverterArguments parse(String... args) {
+    return parser.parse(args)
+        .orElseThrow(l -> Assertions.<RuntimeException>fail("expecting success but found: " + l));
+  }
+}
@@ -202,10 +202,17 @@ public final class ParserTestFixture<E> {
   public String[] getUsageDocumentation(
       NotSuccess notSuccess,
       Map<String, String> messages) {
+    return getUsageDocumentation(notSuccess, messages, MAX_LINE_WIDTH);
+  }
+
+  public String[] getUsageDocumentation(
+      NotSuccess notSuccess,
+      Map<String, String> messages,
+      int terminalWidth) {
     TestOutputStream testOutputStream = new TestOutputStream();
     StandardErrorHandler.builder(notSuccess)
         .withOutputStream(testOutputStream.out)
-        .withTerminalWidth(MAX_LINE_WIDTH)
+        .withTerminalWidth(terminalWidth)
         .withMessages(messages)
         .withExitHook(RuntimeException::new) // no shutdown
         .build()
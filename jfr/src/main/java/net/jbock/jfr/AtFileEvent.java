@@ -0,0 +1,27 @@
+package net.jbock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("net.jbock.AtFile")
+@Label("@file")
+@Category("jbock")
+@Description("An @file that was read completely")
+final class AtFileEvent extends Event {
+
+  @Label("File")
+  String file;
+
+  @Label("Size")
+  @DataAmount
+  long bytes;
+
+  @Label("Read Time")
+  @Timespan
+  long readTime;
+}
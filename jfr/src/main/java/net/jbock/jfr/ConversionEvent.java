@@ -0,0 +1,22 @@
+package net.jbock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("net.jbock.Conversion")
+@Label("Conversion")
+@Category("jbock")
+@Description("Invocation of a converter")
+final class ConversionEvent extends Event {
+
+  @Label("Item")
+  String item;
+
+  @Label("Conversion Time")
+  @Timespan
+  long conversionTime;
+}
@@ -0,0 +1,117 @@
+package net.jbock.jfr;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.Item;
+import net.jbock.util.ErrConvert;
+import net.jbock.util.ErrMissingItem;
+import net.jbock.util.ErrToken;
+import net.jbock.util.NotSuccess;
+import net.jbock.util.ParseListener;
+import net.jbock.util.ParseListeners;
+
+/**
+ * A {@link ParseListener} that emits JDK Flight Recorder events
+ * in the category {@code jbock}.
+ * The events are only created while they are enabled in a recording.
+ */
+public final class JfrParseListener implements ParseListener {
+
+  private static final JfrParseListener INSTANCE = new JfrParseListener();
+
+  private final ThreadLocal<ParseEvent> currentParse = new ThreadLocal<>();
+
+  JfrParseListener() {
+  }
+
+  /**
+   * Register the listener with {@link ParseListeners}.
+   * Invoking this method more than once has no further effect.
+   */
+  public static synchronized void install() {
+    ParseListeners.remove(INSTANCE);
+    ParseListeners.add(INSTANCE);
+  }
+
+  /**
+   * Remove the listener from {@link ParseListeners}.
+   */
+  public static synchronized void uninstall() {
+    ParseListeners.remove(INSTANCE);
+  }
+
+  @Override
+  public void parseStarted(CommandModel model) {
+    ParseEvent event = new ParseEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.command = model.programName();
+    event.success = true;
+    event.begin();
+    currentParse.set(event);
+  }
+
+  @Override
+  public void itemConverted(Item item, long nanos) {
+    ConversionEvent event = new ConversionEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.item = item.namesOverviewError();
+    event.conversionTime = nanos;
+    event.commit();
+  }
+
+  @Override
+  public void parseFailed(NotSuccess failure) {
+    ParseEvent event = currentParse.get();
+    if (event == null) {
+      return;
+    }
+    event.success = false;
+    event.failure = failure.getClass().getSimpleName();
+    if (failure instanceof ErrToken) {
+      event.errorType = ((ErrToken) failure).errorType().name();
+    } else if (failure instanceof ErrConvert) {
+      event.item = ((ErrConvert) failure).item().namesOverviewError();
+    } else if (failure instanceof ErrMissingItem) {
+      event.item = ((ErrMissingItem) failure).item().namesOverviewError();
+    }
+  }
+
+  @Override
+  public void parseFinished(CommandModel model) {
+    ParseEvent event = currentParse.get();
+    if (event == null) {
+      return;
+    }
+    currentParse.remove();
+    event.end();
+    if (event.shouldCommit()) {
+      event.commit();
+    }
+  }
+
+  @Override
+  public void atFileRead(String fileName, long bytes, long nanos) {
+    AtFileEvent event = new AtFileEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.file = fileName;
+    event.bytes = bytes;
+    event.readTime = nanos;
+    event.commit();
+  }
+
+  @Override
+  public void usageRendered(CommandModel model, long nanos) {
+    UsageEvent event = new UsageEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.command = model.programName();
+    event.renderTime = nanos;
+    event.commit();
+  }
+}
@@ -0,0 +1,31 @@
+package net.jbock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("net.jbock.Parse")
+@Label("Parse")
+@Category("jbock")
+@Description("Invocation of a generated parse method")
+final class ParseEvent extends Event {
+
+  @Label("Command")
+  String command;
+
+  @Label("Success")
+  boolean success;
+
+  @Label("Failure")
+  @Description("Simple class name of the failure object")
+  String failure;
+
+  @Label("Error Type")
+  String errorType;
+
+  @Label("Item")
+  @Description("The item that could not be converted, or is missing")
+  String item;
+}
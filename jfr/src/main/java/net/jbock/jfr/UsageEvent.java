@@ -0,0 +1,22 @@
+package net.jbock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("net.jbock.Usage")
+@Label("Usage Rendering")
+@Category("jbock")
+@Description("Rendering of the usage documentation")
+final class UsageEvent extends Event {
+
+  @Label("Command")
+  String command;
+
+  @Label("Render Time")
+  @Timespan
+  long renderTime;
+}
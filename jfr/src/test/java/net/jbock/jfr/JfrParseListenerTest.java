@@ -0,0 +1,69 @@
+package net.jbock.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.jbock.model.CommandModel;
+import net.jbock.model.Multiplicity;
+import net.jbock.model.Parameter;
+import net.jbock.util.ErrToken;
+import net.jbock.util.ErrTokenType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JfrParseListenerTest {
+
+  private final CommandModel model = CommandModel.builder()
+      .withDescriptionKey("")
+      .withProgramName("jfr-test")
+      .addParameter(Parameter.builder()
+          .withParamLabel("FILE")
+          .withDescriptionKey("")
+          .withMultiplicity(Multiplicity.REQUIRED)
+          .build())
+      .build();
+
+  @Test
+  void testEvents() throws Exception {
+    JfrParseListener listener = new JfrParseListener();
+    Path file = Files.createTempFile("jbock", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("net.jbock.Parse").withThreshold(Duration.ZERO);
+      recording.enable("net.jbock.Conversion");
+      recording.enable("net.jbock.AtFile");
+      recording.enable("net.jbock.Usage");
+      recording.start();
+      listener.parseStarted(model);
+      listener.itemConverted(model.parameters().get(0), 1000);
+      listener.parseFinished(model);
+      listener.parseStarted(model);
+      listener.parseFailed(new ErrToken(model, ErrTokenType.EXCESS_PARAM, "x"));
+      listener.parseFinished(model);
+      listener.atFileRead("args", 12, 2000);
+      listener.usageRendered(model, 3000);
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(List.of("net.jbock.AtFile", "net.jbock.Conversion", "net.jbock.Parse",
+          "net.jbock.Parse", "net.jbock.Usage"), events.stream()
+          .map(event -> event.getEventType().getName())
+          .sorted()
+          .collect(Collectors.toList()));
+      RecordedEvent failed = events.stream()
+          .filter(event -> event.getEventType().getName().equals("net.jbock.Parse"))
+          .filter(event -> !event.getBoolean("success"))
+          .findFirst().orElseThrow();
+      assertEquals("EXCESS_PARAM", failed.getString("errorType"));
+      assertEquals("jfr-test", failed.getString("command"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}